@@ -0,0 +1,56 @@
+package com.example.reactive;
+
+import com.example.reactive.domain.inventory.InventoryProjectionCheckpoint;
+import com.example.reactive.domain.inventory.InventoryProjectionService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.UUID;
+
+/**
+ * 재고 이벤트 재생 CLI (웹 서버, 스케줄 작업, 시작 시 메모리 적재 없이 실행)
+ * 사용법: InventoryProjectionApplication DRY_RUN|REBUILD [재개할 runId]
+ */
+public class InventoryProjectionApplication {
+
+	public static void main(String[] args) {
+		if (args.length < 1 || args.length > 2) {
+			System.err.println("사용법: InventoryProjectionApplication DRY_RUN|REBUILD [runId]");
+			System.exit(2);
+		}
+		InventoryProjectionService.Mode mode = InventoryProjectionService.Mode.valueOf(args[0]);
+		String runId = args.length > 1 ? args[1] : UUID.randomUUID().toString();
+
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(ReactiveApplication.class)
+			.web(WebApplicationType.NONE)
+			.properties(
+				"inventory.scheduling.enabled=false",
+				"inventory.startup-load.enabled=false")
+			.run();
+
+		int exitCode = 0;
+		try {
+			InventoryProjectionService projectionService = context.getBean(InventoryProjectionService.class);
+
+			System.out.println("runId=" + runId + ", mode=" + mode);
+			projectionService.replay(runId, mode)
+				.doOnNext(System.out::println)
+				.blockLast();
+
+			InventoryProjectionCheckpoint checkpoint = projectionService.getCheckpoint(runId).block();
+			if (checkpoint != null) {
+				System.out.printf("처리=%d, 불일치=%d, 교정=%d, 완료=%s%n",
+					checkpoint.getProcessedCount(), checkpoint.getMismatchCount(),
+					checkpoint.getCorrectedCount(), checkpoint.getCompleted());
+			}
+		} catch (RuntimeException e) {
+			e.printStackTrace();
+			exitCode = 1;
+		}
+
+		int code = exitCode;
+		System.exit(SpringApplication.exit(context, () -> code));
+	}
+
+}
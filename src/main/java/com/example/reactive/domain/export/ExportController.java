@@ -0,0 +1,69 @@
+package com.example.reactive.domain.export;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final ExportService exportService;
+
+    /**
+     * 재고 이벤트 내보내기 (CSV / 컬럼 바이너리, 선택적으로 gzip)
+     */
+    @GetMapping("/inventory-events")
+    public ResponseEntity<Flux<DataBuffer>> exportEvents(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+        @RequestParam(required = false) Long warehouseId,
+        @RequestParam(defaultValue = "CSV") ExportService.Format format,
+        @RequestParam(defaultValue = "false") boolean gzip,
+        ServerWebExchange exchange) {
+
+        Flux<DataBuffer> body = exportService.exportEvents(format, startDate, endDate, warehouseId, gzip,
+            exchange.getResponse().bufferFactory());
+        return toResponse("inventory-events", format, gzip, body);
+    }
+
+    /**
+     * 재고 현황 내보내기 (CSV / 컬럼 바이너리, 선택적으로 gzip)
+     */
+    @GetMapping("/inventory")
+    public ResponseEntity<Flux<DataBuffer>> exportInventory(
+        @RequestParam(required = false) Long warehouseId,
+        @RequestParam(defaultValue = "CSV") ExportService.Format format,
+        @RequestParam(defaultValue = "false") boolean gzip,
+        ServerWebExchange exchange) {
+
+        Flux<DataBuffer> body = exportService.exportInventory(format, warehouseId, gzip,
+            exchange.getResponse().bufferFactory());
+        return toResponse("inventory", format, gzip, body);
+    }
+
+    private ResponseEntity<Flux<DataBuffer>> toResponse(
+        String name, ExportService.Format format, boolean gzip, Flux<DataBuffer> body) {
+
+        String filename = name + (format == ExportService.Format.CSV ? ".csv" : ".bin") + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+            ? MediaType.parseMediaType("application/gzip")
+            : format == ExportService.Format.CSV
+                ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                : MediaType.APPLICATION_OCTET_STREAM;
+
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .contentType(contentType)
+            .body(body);
+    }
+}
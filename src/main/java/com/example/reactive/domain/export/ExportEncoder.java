@@ -0,0 +1,209 @@
+package com.example.reactive.domain.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * 내보내기 인코더 (헤더 1회 + 행 묶음 단위 인코딩)
+ */
+abstract class ExportEncoder {
+
+    enum ColumnType {
+        INT64((byte) 1),
+        FLOAT64((byte) 2),
+        TIMESTAMP((byte) 3), // epoch millis (UTC 기준 LocalDateTime)
+        STRING((byte) 4);
+
+        private final byte code;
+
+        ColumnType(byte code) {
+            this.code = code;
+        }
+    }
+
+    record Column(String name, ColumnType type) {
+        static Column int64(String name) {
+            return new Column(name, ColumnType.INT64);
+        }
+
+        static Column float64(String name) {
+            return new Column(name, ColumnType.FLOAT64);
+        }
+
+        static Column timestamp(String name) {
+            return new Column(name, ColumnType.TIMESTAMP);
+        }
+
+        static Column string(String name) {
+            return new Column(name, ColumnType.STRING);
+        }
+    }
+
+    protected final List<Column> columns;
+
+    protected ExportEncoder(List<Column> columns) {
+        this.columns = columns;
+    }
+
+    static ExportEncoder csv(List<Column> columns) {
+        return new Csv(columns);
+    }
+
+    static ExportEncoder columnar(List<Column> columns) {
+        return new Columnar(columns);
+    }
+
+    abstract byte[] header();
+
+    abstract byte[] encode(List<Object[]> rows);
+
+    /**
+     * CSV (RFC 4180, 헤더 포함, 문자열은 필요한 경우에만 따옴표 처리)
+     */
+    private static final class Csv extends ExportEncoder {
+
+        private Csv(List<Column> columns) {
+            super(columns);
+        }
+
+        @Override
+        byte[] header() {
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    line.append(',');
+                }
+                line.append(columns.get(i).name());
+            }
+            return line.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        byte[] encode(List<Object[]> rows) {
+            StringBuilder text = new StringBuilder(rows.size() * 96);
+            for (Object[] row : rows) {
+                for (int i = 0; i < columns.size(); i++) {
+                    if (i > 0) {
+                        text.append(',');
+                    }
+                    append(text, columns.get(i).type(), row[i]);
+                }
+                text.append('\n');
+            }
+            return text.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        private void append(StringBuilder text, ColumnType type, Object value) {
+            if (value == null) {
+                return;
+            }
+            switch (type) {
+                case INT64 -> text.append((long) (Long) value);
+                case FLOAT64 -> text.append((double) (Double) value);
+                case TIMESTAMP -> text.append(LocalDateTime.ofInstant(Instant.ofEpochMilli((Long) value), ZoneOffset.UTC));
+                case STRING -> appendString(text, (String) value);
+            }
+        }
+
+        private void appendString(StringBuilder text, String value) {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                text.append(value);
+                return;
+            }
+            text.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    text.append('"');
+                }
+                text.append(c);
+            }
+            text.append('"');
+        }
+    }
+
+    /**
+     * 컬럼 블록 바이너리 (big-endian)
+     * 헤더: "INVX", 버전(byte), 컬럼 수(short), 컬럼마다 [이름(UTF), 타입 코드(byte)]
+     * 블록: 행 수(int), 컬럼마다 [행별 null 여부(byte, 1 = 값 있음), 값이 있는 행의 값들]
+     *   INT64/TIMESTAMP = long, FLOAT64 = double, STRING = 길이(int) + UTF-8 바이트
+     * 마지막 블록 뒤에는 별도 종료 표시가 없다.
+     */
+    private static final class Columnar extends ExportEncoder {
+
+        private static final byte[] MAGIC = {'I', 'N', 'V', 'X'};
+        private static final byte VERSION = 1;
+
+        private Columnar(List<Column> columns) {
+            super(columns);
+        }
+
+        @Override
+        byte[] header() {
+            return write(64, out -> {
+                out.write(MAGIC);
+                out.writeByte(VERSION);
+                out.writeShort(columns.size());
+                for (Column column : columns) {
+                    out.writeUTF(column.name());
+                    out.writeByte(column.type().code);
+                }
+            });
+        }
+
+        @Override
+        byte[] encode(List<Object[]> rows) {
+            return write(rows.size() * columns.size() * 9 + 4, out -> {
+                out.writeInt(rows.size());
+                for (int c = 0; c < columns.size(); c++) {
+                    for (Object[] row : rows) {
+                        out.writeByte(row[c] != null ? 1 : 0);
+                    }
+                    ColumnType type = columns.get(c).type();
+                    for (Object[] row : rows) {
+                        Object value = row[c];
+                        if (value == null) {
+                            continue;
+                        }
+                        switch (type) {
+                            case INT64, TIMESTAMP -> out.writeLong((Long) value);
+                            case FLOAT64 -> out.writeDouble((Double) value);
+                            case STRING -> {
+                                byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                                out.writeInt(bytes.length);
+                                out.write(bytes);
+                            }
+                        }
+                    }
+                }
+            });
+        }
+
+        private byte[] write(int sizeHint, BlockWriter writer) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(sizeHint);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                writer.write(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+
+        @FunctionalInterface
+        private interface BlockWriter {
+            void write(DataOutputStream out) throws IOException;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.reactive.domain.export;
+
+import io.r2dbc.spi.Row;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 재고 이벤트 / 재고 대량 내보내기
+ * 조회 행을 엔티티로 매핑하지 않고 바로 CSV 또는 컬럼 블록 바이너리로 인코딩해 DataBuffer 로 흘려보낸다.
+ * 행은 chunkRows 건씩 묶어 인코딩하므로 메모리 사용량은 조회 범위와 관계없이 일정하며,
+ * 구독자의 요청량만큼만 DB 에서 가져온다 (fetchSize 힌트 적용).
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    public enum Format {
+        CSV,
+        COLUMNAR
+    }
+
+    private static final List<ExportEncoder.Column> EVENT_COLUMNS = List.of(
+        ExportEncoder.Column.int64("id"),
+        ExportEncoder.Column.int64("inventory_id"),
+        ExportEncoder.Column.int64("product_id"),
+        ExportEncoder.Column.int64("warehouse_id"),
+        ExportEncoder.Column.string("event_type"),
+        ExportEncoder.Column.float64("previous_quantity"),
+        ExportEncoder.Column.float64("new_quantity"),
+        ExportEncoder.Column.timestamp("timestamp"),
+        ExportEncoder.Column.string("metadata")
+    );
+
+    private static final List<ExportEncoder.Column> INVENTORY_COLUMNS = List.of(
+        ExportEncoder.Column.int64("id"),
+        ExportEncoder.Column.int64("warehouse_id"),
+        ExportEncoder.Column.int64("product_id"),
+        ExportEncoder.Column.string("location"),
+        ExportEncoder.Column.float64("quantity"),
+        ExportEncoder.Column.float64("minimum_threshold"),
+        ExportEncoder.Column.timestamp("expiry_date"),
+        ExportEncoder.Column.timestamp("created_at"),
+        ExportEncoder.Column.timestamp("updated_at")
+    );
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+    private final int chunkRows;
+
+    public ExportService(
+        DatabaseClient databaseClient,
+        @Value("${export.fetch-size:1000}") int fetchSize,
+        @Value("${export.chunk-rows:512}") int chunkRows) {
+
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+        this.chunkRows = chunkRows;
+    }
+
+    /**
+     * 재고 이벤트 내보내기 (InventoryEventRepository.findPageByTimestampBetween 과 같은 범위 조건, 오래된 순)
+     */
+    public Flux<DataBuffer> exportEvents(
+        Format format, LocalDateTime startDate, LocalDateTime endDate, Long warehouseId,
+        boolean gzip, DataBufferFactory bufferFactory) {
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                SELECT id, inventory_id, product_id, warehouse_id, event_type,
+                       previous_quantity, new_quantity, timestamp, CAST(metadata AS TEXT) AS metadata
+                FROM inventory_events
+                WHERE timestamp BETWEEN :startDate AND :endDate
+                %s
+                ORDER BY timestamp, id
+                """.formatted(warehouseId != null ? "AND warehouse_id = :warehouseId" : ""))
+            .bind("startDate", startDate)
+            .bind("endDate", endDate);
+        if (warehouseId != null) {
+            spec = spec.bind("warehouseId", warehouseId);
+        }
+
+        return export(spec, EVENT_COLUMNS, format, gzip, bufferFactory);
+    }
+
+    /**
+     * 재고 내보내기 (InventoryRepository.findByWarehouseId 와 같은 조건, id 순)
+     */
+    public Flux<DataBuffer> exportInventory(Format format, Long warehouseId, boolean gzip, DataBufferFactory bufferFactory) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                SELECT id, warehouse_id, product_id, location, quantity, minimum_threshold,
+                       expiry_date, created_at, updated_at
+                FROM inventory
+                %s
+                ORDER BY id
+                """.formatted(warehouseId != null ? "WHERE warehouse_id = :warehouseId" : ""));
+        if (warehouseId != null) {
+            spec = spec.bind("warehouseId", warehouseId);
+        }
+
+        return export(spec, INVENTORY_COLUMNS, format, gzip, bufferFactory);
+    }
+
+    private Flux<DataBuffer> export(
+        DatabaseClient.GenericExecuteSpec spec, List<ExportEncoder.Column> columns,
+        Format format, boolean gzip, DataBufferFactory bufferFactory) {
+
+        ExportEncoder encoder = format == Format.CSV ? ExportEncoder.csv(columns) : ExportEncoder.columnar(columns);
+
+        Flux<byte[]> encoded = Flux.concat(
+            Mono.fromCallable(encoder::header),
+            spec.filter(statement -> statement.fetchSize(fetchSize))
+                .map((row, metadata) -> readRow(row, columns))
+                .all()
+                .buffer(chunkRows)
+                .map(encoder::encode));
+
+        Flux<byte[]> body = gzip ? gzip(encoded) : encoded;
+        return body.map(bufferFactory::wrap);
+    }
+
+    /**
+     * 행을 컬럼 타입에 맞는 값 배열로 읽기 (NUMERIC → double, TIMESTAMP → epoch millis)
+     */
+    private Object[] readRow(Row row, List<ExportEncoder.Column> columns) {
+        Object[] values = new Object[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            ExportEncoder.Column column = columns.get(i);
+            values[i] = switch (column.type()) {
+                case INT64 -> row.get(column.name(), Long.class);
+                case FLOAT64 -> {
+                    BigDecimal value = row.get(column.name(), BigDecimal.class);
+                    yield value != null ? value.doubleValue() : null;
+                }
+                case TIMESTAMP -> {
+                    LocalDateTime value = row.get(column.name(), LocalDateTime.class);
+                    yield value != null ? value.toInstant(ZoneOffset.UTC).toEpochMilli() : null;
+                }
+                case STRING -> row.get(column.name(), String.class);
+            };
+        }
+        return values;
+    }
+
+    /**
+     * 청크 단위 gzip 압축 (청크마다 SYNC_FLUSH 하여 바로 전송)
+     */
+    private Flux<byte[]> gzip(Flux<byte[]> source) {
+        return Flux.using(
+            GzipState::new,
+            state -> source.map(state::compress).concatWith(Mono.fromCallable(state::finish)),
+            GzipState::close);
+    }
+
+    private static final class GzipState {
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        private final GZIPOutputStream gzip;
+
+        private GzipState() throws IOException {
+            this.gzip = new GZIPOutputStream(output, true);
+        }
+
+        byte[] compress(byte[] chunk) {
+            try {
+                gzip.write(chunk);
+                gzip.flush();
+                return drain();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        byte[] finish() throws IOException {
+            gzip.finish();
+            return drain();
+        }
+
+        private byte[] drain() {
+            byte[] bytes = output.toByteArray();
+            output.reset();
+            return bytes;
+        }
+
+        void close() {
+            try {
+                gzip.close();
+            } catch (IOException e) {
+                log.debug("gzip 스트림 닫기 실패", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.reactive.domain.forecast;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/forecast")
+@RequiredArgsConstructor
+public class DemandForecastController {
+
+    private final DemandForecastService forecastService;
+
+    /**
+     * SKU 수요 예측 조회
+     */
+    @GetMapping("/warehouse/{warehouseId}/product/{productId}")
+    public Mono<ResponseEntity<DemandForecastService.DemandForecast>> getForecast(
+        @PathVariable Long warehouseId,
+        @PathVariable Long productId) {
+
+        return forecastService.getForecast(warehouseId, productId)
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 창고 전체 SKU 수요 예측 조회
+     */
+    @GetMapping("/warehouse/{warehouseId}")
+    public Flux<DemandForecastService.DemandForecast> getWarehouseForecasts(@PathVariable Long warehouseId) {
+        return forecastService.getWarehouseForecasts(warehouseId);
+    }
+
+    /**
+     * 수요 예측 수동 갱신 (갱신된 SKU 수)
+     */
+    @PostMapping("/update")
+    public Mono<Long> update() {
+        return forecastService.update();
+    }
+}
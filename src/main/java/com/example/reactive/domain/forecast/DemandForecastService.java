@@ -0,0 +1,417 @@
+package com.example.reactive.domain.forecast;
+
+import com.example.reactive.global.util.Rows;
+import io.r2dbc.spi.Row;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 창고/상품(SKU)별 출고 수요 예측
+ * 일 롤업(STOCK_REMOVED)의 출고량을 하루 단위 관측값으로 보고, SKU마다 지수평활(SES)과 Croston(SBA 보정) 상태를 함께 갱신한다.
+ * 평균 수요 간격이 1.32일을 넘는 간헐 수요 SKU는 Croston, 그 외에는 SES 예측을 쓴다.
+ * 상태는 demand_forecasts 에 SKU당 한 행으로 저장되며, 갱신 시 마지막으로 반영한 일자 이후의 일 롤업만 읽는다.
+ * 새 SKU는 재고 생성일이나 첫 이벤트 일자 중 이른 날부터 관측한다 (그 전의 날을 출고 0으로 세지 않는다).
+ * 관측 일수가 충분하고 출고가 한 번이라도 있었으면 리드타임 수요 + 안전재고(1.25 × MAD 기반)로 재주문점과 목표 재고를 계산한다.
+ */
+@Slf4j
+@Service
+public class DemandForecastService {
+
+    // 평균 수요 간격이 이 값을 넘으면 간헐 수요로 본다 (Syntetos-Boylan 분류 기준)
+    private static final double INTERMITTENT_INTERVAL = 1.32;
+
+    private final DatabaseClient databaseClient;
+    private final double alpha;
+    private final int historyDays;
+    private final int minObservations;
+    private final double leadTimeDays;
+    private final double reviewDays;
+    private final double serviceFactor;
+    private final int batchSize;
+
+    public DemandForecastService(
+        DatabaseClient databaseClient,
+        @Value("${inventory.forecast.alpha:0.2}") double alpha,
+        @Value("${inventory.forecast.history-days:90}") int historyDays,
+        @Value("${inventory.forecast.min-observations:28}") int minObservations,
+        @Value("${inventory.forecast.lead-time-days:7}") double leadTimeDays,
+        @Value("${inventory.forecast.review-days:14}") double reviewDays,
+        @Value("${inventory.forecast.service-factor:1.65}") double serviceFactor,
+        @Value("${inventory.forecast.batch-size:500}") int batchSize) {
+
+        this.databaseClient = databaseClient;
+        this.alpha = alpha;
+        this.historyDays = historyDays;
+        this.minObservations = minObservations;
+        this.leadTimeDays = leadTimeDays;
+        this.reviewDays = reviewDays;
+        this.serviceFactor = serviceFactor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 완료된 일자까지 모든 SKU 예측 상태 증분 갱신 (갱신된 SKU 수 반환)
+     * 롤업 watermark 가 지난 일자만 완료된 일자로 본다.
+     */
+    public Mono<Long> update() {
+        return databaseClient.sql("SELECT watermark FROM inventory_event_rollup_watermarks WHERE rollup_name = 'inventory_events'")
+            .map(row -> row.get("watermark", LocalDateTime.class).toLocalDate().minusDays(1))
+            .one()
+            .flatMap(this::updateThrough)
+            .defaultIfEmpty(0L);
+    }
+
+    /**
+     * SKU 예측 조회
+     */
+    public Mono<DemandForecast> getForecast(Long warehouseId, Long productId) {
+        return databaseClient.sql("""
+                SELECT warehouse_id, product_id, method, daily_forecast, mad, observations,
+                       reorder_point, order_up_to, last_bucket_date, updated_at
+                FROM demand_forecasts
+                WHERE warehouse_id = :warehouseId
+                AND product_id = :productId
+                """)
+            .bind("warehouseId", warehouseId)
+            .bind("productId", productId)
+            .map(this::toForecast)
+            .one();
+    }
+
+    /**
+     * 창고 전체 SKU 예측 조회
+     */
+    public Flux<DemandForecast> getWarehouseForecasts(Long warehouseId) {
+        return databaseClient.sql("""
+                SELECT warehouse_id, product_id, method, daily_forecast, mad, observations,
+                       reorder_point, order_up_to, last_bucket_date, updated_at
+                FROM demand_forecasts
+                WHERE warehouse_id = :warehouseId
+                ORDER BY product_id
+                """)
+            .bind("warehouseId", warehouseId)
+            .map(this::toForecast)
+            .all();
+    }
+
+    private Mono<Long> updateThrough(LocalDate lastCompleteDay) {
+        LocalDate historyStart = lastCompleteDay.minusDays(historyDays);
+
+        // SKU마다 기존 상태 1행 + 이후 출고일 행들 (출고가 없는 SKU는 bucket_date 가 null 인 1행)
+        // first_day: 재고 생성일과 첫 롤업 일자 중 이른 날 (기존 상태가 없는 SKU의 관측 시작일)
+        return databaseClient.sql("""
+                SELECT k.warehouse_id, k.product_id, k.first_day,
+                       f.level, f.demand_size, f.demand_interval, f.periods_since_demand, f.mad,
+                       f.observations, f.last_bucket_date,
+                       d.bucket_date, d.demand
+                FROM (
+                    SELECT i.warehouse_id, i.product_id,
+                           LEAST(CAST(i.created_at AS DATE),
+                                 (SELECT MIN(r.bucket_date)
+                                  FROM inventory_event_rollups_daily r
+                                  WHERE r.warehouse_id = i.warehouse_id
+                                  AND r.product_id = i.product_id)) AS first_day
+                    FROM inventory i
+                ) k
+                LEFT JOIN demand_forecasts f
+                    ON f.warehouse_id = k.warehouse_id AND f.product_id = k.product_id
+                LEFT JOIN LATERAL (
+                    SELECT r.bucket_date, -r.net_quantity_delta AS demand
+                    FROM inventory_event_rollups_daily r
+                    WHERE r.warehouse_id = k.warehouse_id
+                    AND r.product_id = k.product_id
+                    AND r.event_type = 'STOCK_REMOVED'
+                    AND r.bucket_date > COALESCE(f.last_bucket_date, :historyStart)
+                    AND r.bucket_date <= :lastCompleteDay
+                ) d ON TRUE
+                WHERE f.last_bucket_date IS NULL
+                OR f.last_bucket_date < :lastCompleteDay
+                ORDER BY k.warehouse_id, k.product_id, d.bucket_date
+                """)
+            .bind("historyStart", historyStart)
+            .bind("lastCompleteDay", lastCompleteDay)
+            .map(this::toSkuRow)
+            .all()
+            .bufferUntilChanged(SkuRow::key)
+            // SKU 단위 계산은 서로 독립적이므로 병렬로 처리
+            .parallel()
+            .runOn(Schedulers.parallel())
+            .map(rows -> fit(rows, historyStart, lastCompleteDay))
+            .sequential()
+            .buffer(batchSize)
+            .concatMap(this::save)
+            .reduce(0L, Long::sum)
+            .doOnNext(updated -> log.info("수요 예측 갱신: {} 까지, SKU {}개", lastCompleteDay, updated));
+    }
+
+    /**
+     * 이전 상태에 마지막 반영일 다음 날부터 lastCompleteDay 까지의 일별 출고량을 순서대로 반영
+     * 상태가 없는 SKU는 historyStart 와 첫 활동일 전날 중 늦은 날부터 시작한다.
+     */
+    private ForecastState fit(List<SkuRow> rows, LocalDate historyStart, LocalDate lastCompleteDay) {
+        SkuRow first = rows.get(0);
+        ForecastState state = first.state() != null
+            ? first.state()
+            : ForecastState.empty(first.warehouseId(), first.productId(), startDate(historyStart, first.firstDay()));
+
+        Map<LocalDate, Double> demandByDay = new HashMap<>();
+        for (SkuRow row : rows) {
+            if (row.bucketDate() != null) {
+                demandByDay.put(row.bucketDate(), Math.max(0.0, row.demand()));
+            }
+        }
+        for (LocalDate day = state.lastBucketDate.plusDays(1); !day.isAfter(lastCompleteDay); day = day.plusDays(1)) {
+            state.observe(demandByDay.getOrDefault(day, 0.0), alpha);
+        }
+        state.lastBucketDate = lastCompleteDay;
+        return state;
+    }
+
+    static LocalDate startDate(LocalDate historyStart, LocalDate firstDay) {
+        if (firstDay == null) {
+            return historyStart;
+        }
+        LocalDate dayBeforeFirst = firstDay.minusDays(1);
+        return dayBeforeFirst.isAfter(historyStart) ? dayBeforeFirst : historyStart;
+    }
+
+    private Mono<Long> save(List<ForecastState> states) {
+        int size = states.size();
+        Long[] warehouseIds = new Long[size];
+        Long[] productIds = new Long[size];
+        String[] methods = new String[size];
+        Double[] levels = new Double[size];
+        Double[] demandSizes = new Double[size];
+        Double[] demandIntervals = new Double[size];
+        Integer[] periodsSinceDemand = new Integer[size];
+        Double[] mads = new Double[size];
+        Integer[] observations = new Integer[size];
+        Double[] dailyForecasts = new Double[size];
+        Double[] reorderPoints = new Double[size];
+        Double[] orderUpTos = new Double[size];
+        LocalDate[] lastBucketDates = new LocalDate[size];
+
+        for (int i = 0; i < size; i++) {
+            ForecastState state = states.get(i);
+            double daily = state.dailyForecast(alpha);
+            // 출고가 없었던 SKU의 예측(≈0)은 minimum_threshold 를 대신하지 않는다
+            boolean reliable = state.observations >= minObservations && state.hasDemand();
+            // 리드타임 동안의 수요 표준편차 ≈ 1.25 × MAD × √리드타임
+            double safetyStock = serviceFactor * 1.25 * state.mad * Math.sqrt(leadTimeDays);
+
+            warehouseIds[i] = state.warehouseId;
+            productIds[i] = state.productId;
+            methods[i] = state.intermittent() ? "CROSTON" : "SES";
+            levels[i] = state.level;
+            demandSizes[i] = state.demandSize;
+            demandIntervals[i] = state.demandInterval;
+            periodsSinceDemand[i] = state.periodsSinceDemand;
+            mads[i] = state.mad;
+            observations[i] = state.observations;
+            dailyForecasts[i] = daily;
+            reorderPoints[i] = reliable ? round2(daily * leadTimeDays + safetyStock) : null;
+            orderUpTos[i] = reliable ? round2(daily * (leadTimeDays + reviewDays) + safetyStock) : null;
+            lastBucketDates[i] = state.lastBucketDate;
+        }
+
+        return databaseClient.sql("""
+                INSERT INTO demand_forecasts
+                    (warehouse_id, product_id, method, level, demand_size, demand_interval, periods_since_demand,
+                     mad, observations, daily_forecast, reorder_point, order_up_to, last_bucket_date, updated_at)
+                SELECT t.*, CURRENT_TIMESTAMP
+                FROM unnest(
+                    CAST(:warehouseIds AS BIGINT[]),
+                    CAST(:productIds AS BIGINT[]),
+                    CAST(:methods AS VARCHAR[]),
+                    CAST(:levels AS DOUBLE PRECISION[]),
+                    CAST(:demandSizes AS DOUBLE PRECISION[]),
+                    CAST(:demandIntervals AS DOUBLE PRECISION[]),
+                    CAST(:periodsSinceDemand AS INT[]),
+                    CAST(:mads AS DOUBLE PRECISION[]),
+                    CAST(:observations AS INT[]),
+                    CAST(:dailyForecasts AS DOUBLE PRECISION[]),
+                    CAST(:reorderPoints AS DECIMAL[]),
+                    CAST(:orderUpTos AS DECIMAL[]),
+                    CAST(:lastBucketDates AS DATE[])) AS t
+                ON CONFLICT (warehouse_id, product_id)
+                DO UPDATE SET method = EXCLUDED.method,
+                              level = EXCLUDED.level,
+                              demand_size = EXCLUDED.demand_size,
+                              demand_interval = EXCLUDED.demand_interval,
+                              periods_since_demand = EXCLUDED.periods_since_demand,
+                              mad = EXCLUDED.mad,
+                              observations = EXCLUDED.observations,
+                              daily_forecast = EXCLUDED.daily_forecast,
+                              reorder_point = EXCLUDED.reorder_point,
+                              order_up_to = EXCLUDED.order_up_to,
+                              last_bucket_date = EXCLUDED.last_bucket_date,
+                              updated_at = EXCLUDED.updated_at
+                WHERE demand_forecasts.last_bucket_date < EXCLUDED.last_bucket_date
+                """)
+            .bind("warehouseIds", warehouseIds)
+            .bind("productIds", productIds)
+            .bind("methods", methods)
+            .bind("levels", levels)
+            .bind("demandSizes", demandSizes)
+            .bind("demandIntervals", demandIntervals)
+            .bind("periodsSinceDemand", periodsSinceDemand)
+            .bind("mads", mads)
+            .bind("observations", observations)
+            .bind("dailyForecasts", dailyForecasts)
+            .bind("reorderPoints", reorderPoints)
+            .bind("orderUpTos", orderUpTos)
+            .bind("lastBucketDates", lastBucketDates)
+            .fetch()
+            .rowsUpdated();
+    }
+
+    private SkuRow toSkuRow(Row row) {
+        Long warehouseId = Rows.getLong(row, "warehouse_id");
+        Long productId = Rows.getLong(row, "product_id");
+        LocalDate lastBucketDate = row.get("last_bucket_date", LocalDate.class);
+        ForecastState state = lastBucketDate == null ? null : new ForecastState(
+            warehouseId,
+            productId,
+            Rows.getDouble(row, "level"),
+            Rows.getDouble(row, "demand_size"),
+            Rows.getDouble(row, "demand_interval"),
+            Rows.getInt(row, "periods_since_demand"),
+            Rows.getDouble(row, "mad"),
+            Rows.getInt(row, "observations"),
+            lastBucketDate);
+        return new SkuRow(warehouseId, productId, row.get("first_day", LocalDate.class), state,
+            row.get("bucket_date", LocalDate.class), Rows.getDouble(row, "demand"));
+    }
+
+    private DemandForecast toForecast(Row row) {
+        return DemandForecast.builder()
+            .warehouseId(Rows.getLong(row, "warehouse_id"))
+            .productId(Rows.getLong(row, "product_id"))
+            .method(Rows.getString(row, "method"))
+            .dailyForecast(Rows.getDouble(row, "daily_forecast"))
+            .mad(Rows.getDouble(row, "mad"))
+            .observations(Rows.getInt(row, "observations"))
+            .reorderPoint(Rows.getDouble(row, "reorder_point"))
+            .orderUpTo(Rows.getDouble(row, "order_up_to"))
+            .lastBucketDate(row.get("last_bucket_date", LocalDate.class))
+            .updatedAt(Rows.getDateTime(row, "updated_at"))
+            .build();
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private record SkuRow(Long warehouseId, Long productId, LocalDate firstDay, ForecastState state,
+                          LocalDate bucketDate, Double demand) {
+
+        Object key() {
+            return List.of(warehouseId, productId);
+        }
+    }
+
+    /**
+     * SKU 예측 상태 (SES 수준, Croston 수요 크기/간격, 평활 MAD)
+     */
+    static final class ForecastState {
+        private final Long warehouseId;
+        private final Long productId;
+        private double level;
+        private double demandSize;       // 0 이면 아직 출고가 없었음
+        private double demandInterval;
+        private int periodsSinceDemand;
+        private double mad;
+        private int observations;
+        private LocalDate lastBucketDate;
+
+        ForecastState(Long warehouseId, Long productId, double level, double demandSize, double demandInterval,
+                      int periodsSinceDemand, double mad, int observations, LocalDate lastBucketDate) {
+            this.warehouseId = Objects.requireNonNull(warehouseId);
+            this.productId = Objects.requireNonNull(productId);
+            this.level = level;
+            this.demandSize = demandSize;
+            this.demandInterval = demandInterval;
+            this.periodsSinceDemand = periodsSinceDemand;
+            this.mad = mad;
+            this.observations = observations;
+            this.lastBucketDate = lastBucketDate;
+        }
+
+        /**
+         * 관측 전 상태 (lastBucketDate 다음 날부터 관측)
+         */
+        static ForecastState empty(Long warehouseId, Long productId, LocalDate lastBucketDate) {
+            return new ForecastState(warehouseId, productId, 0, 0, 1, 0, 0, 0, lastBucketDate);
+        }
+
+        void observe(double demand, double alpha) {
+            double error = Math.abs(demand - dailyForecast(alpha));
+            mad = observations == 0 ? error : mad + alpha * (error - mad);
+            level = observations == 0 ? demand : level + alpha * (demand - level);
+
+            periodsSinceDemand++;
+            if (demand > 0) {
+                if (demandSize == 0) {
+                    demandSize = demand;
+                    demandInterval = periodsSinceDemand;
+                } else {
+                    demandSize += alpha * (demand - demandSize);
+                    demandInterval += alpha * (periodsSinceDemand - demandInterval);
+                }
+                periodsSinceDemand = 0;
+            }
+            observations++;
+        }
+
+        boolean hasDemand() {
+            return demandSize > 0;
+        }
+
+        boolean intermittent() {
+            return demandSize > 0 && demandInterval > INTERMITTENT_INTERVAL;
+        }
+
+        double dailyForecast(double alpha) {
+            if (intermittent()) {
+                // Syntetos-Boylan 근사 (Croston 편향 보정)
+                return (1 - alpha / 2) * demandSize / demandInterval;
+            }
+            return level;
+        }
+    }
+
+    /**
+     * SKU 수요 예측 (일 평균 출고 예측, 재주문점, 목표 재고)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DemandForecast {
+        private Long warehouseId;
+        private Long productId;
+        private String method;          // SES, CROSTON
+        private Double dailyForecast;
+        private Double mad;
+        private Integer observations;
+        private Double reorderPoint;    // 관측 일수가 부족하거나 출고가 없었으면 null (minimum_threshold 사용)
+        private Double orderUpTo;       // 관측 일수가 부족하거나 출고가 없었으면 null (minimum_threshold * 3 사용)
+        private LocalDate lastBucketDate;
+        private LocalDateTime updatedAt;
+    }
+}
@@ -0,0 +1,483 @@
+package com.example.reactive.domain.inventory;
+
+import com.example.reactive.domain.inventory_event.InventoryEventService;
+import com.example.reactive.domain.notification.NotificationService;
+import com.example.reactive.global.util.LongLongHashMap;
+import com.example.reactive.global.util.Rows;
+import com.example.reactive.global.util.WarehouseShard;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 유통기한 알림 추적 (메모리 min-heap)
+ * 재고마다 다음 알림 경계(유통기한 7일/5일/2일 전) 시각을 heap 에 하나만 넣어 두고, 경계를 지난 항목만 꺼내 EXPIRY_ALERT 와 사용자 알림을 만든다.
+ * 재고 id → 유통기한은 박싱 없는 해시 맵에, heap 항목은 (경계 시각, 재고 id, 유통기한) long 3개로 보관하므로 항목당 약 56바이트를 쓴다.
+ * 유통기한이 바뀌면 새 항목을 넣고 이전 항목은 꺼낼 때 버린다.
+ * 알림 직전에 DB 의 현재 행을 확인하고 (재고, 경계, 유통기한)을 inventory_expiry_alerts 에 선점한 뒤 이벤트를 만든다.
+ * 여러 노드가 같은 재고를 추적하거나 재시작 후 다시 적재해도 같은 경계 알림은 선점한 한 곳에서만 만들어진다.
+ * 다른 노드에서 바뀐 유통기한처럼 추적에 반영되지 못한 변경은 하루 한 번 resync 로 DB 에서 다시 읽어 보정한다.
+ */
+@Slf4j
+@Service
+public class ExpiryAlertTracker {
+
+    // 알림 경계 (유통기한까지 남은 일수, 큰 것부터)
+    private static final long[] BOUNDARY_DAYS = {7, 5, 2};
+    private static final long DAY_SECONDS = Duration.ofDays(1).toSeconds();
+    private static final long NOT_TRACKED = Long.MIN_VALUE;
+
+    private final DatabaseClient databaseClient;
+    private final InventoryRepository inventoryRepository;
+    private final InventoryEventService eventService;
+    private final InventoryAnalysisService analysisService;
+    private final NotificationService notificationService;
+    private final TransactionalOperator transactionalOperator;
+    private final int batchSize;
+    private final long notifyUserId;
+
+    @Value("${inventory.startup-load.enabled:true}")
+    private boolean startupLoadEnabled;
+
+    private final Object lock = new Object();
+    private final LongLongHashMap expiries = new LongLongHashMap(1024, NOT_TRACKED);
+    private final ExpiryHeap heap = new ExpiryHeap(1024);
+    private final AtomicBoolean firing = new AtomicBoolean();
+
+    public ExpiryAlertTracker(
+        DatabaseClient databaseClient,
+        InventoryRepository inventoryRepository,
+        InventoryEventService eventService,
+        InventoryAnalysisService analysisService,
+        NotificationService notificationService,
+        TransactionalOperator transactionalOperator,
+        @Value("${inventory.expiry.batch-size:500}") int batchSize,
+        @Value("${inventory.auto-order.notify-user-id:1}") long notifyUserId) {
+
+        this.databaseClient = databaseClient;
+        this.inventoryRepository = inventoryRepository;
+        this.eventService = eventService;
+        this.analysisService = analysisService;
+        this.notificationService = notificationService;
+        this.transactionalOperator = transactionalOperator;
+        this.batchSize = batchSize;
+        this.notifyUserId = notifyUserId;
+    }
+
+    /**
+     * 시작 시 유통기한이 남은 재고 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!startupLoadEnabled) {
+            return;
+        }
+        trackFromDatabase(WarehouseShard.ALL)
+            .subscribe(
+                count -> log.info("유통기한 알림 추적 적재: {}건", count),
+                error -> log.error("유통기한 알림 추적 적재 실패", error));
+    }
+
+    /**
+     * 창고 구간의 유통기한을 DB 에서 다시 읽어 추적하고 지난 유통기한의 선점 기록 정리 (다시 읽은 재고 수 반환)
+     * 이미 같은 유통기한으로 추적 중인 재고는 그대로 두고, 경계를 지난 항목은 다음 fireDue 에서 알림을 만든다.
+     */
+    public Mono<Long> resync(WarehouseShard shard) {
+        return trackFromDatabase(shard)
+            .flatMap(count -> databaseClient.sql("DELETE FROM inventory_expiry_alerts WHERE expiry_date < CURRENT_TIMESTAMP")
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(count));
+    }
+
+    private Mono<Long> trackFromDatabase(WarehouseShard shard) {
+        return databaseClient.sql("SELECT id, expiry_date FROM inventory WHERE expiry_date > CURRENT_TIMESTAMP "
+                + shard.sqlPredicate("warehouse_id"))
+            .map(row -> Inventory.builder()
+                .id(Rows.getLong(row, "id"))
+                .expiryDate(Rows.getDateTime(row, "expiry_date"))
+                .build())
+            .all()
+            .doOnNext(this::track)
+            .count();
+    }
+
+    /**
+     * 추적 중인 재고 수
+     */
+    public int trackedCount() {
+        synchronized (lock) {
+            return expiries.size();
+        }
+    }
+
+    /**
+     * 재고 변경 반영 (유통기한이 바뀐 경우에만 다시 예약)
+     */
+    public void track(Inventory inventory) {
+        if (inventory.getId() == null) {
+            return;
+        }
+        long id = inventory.getId();
+        long now = now();
+
+        synchronized (lock) {
+            if (inventory.getExpiryDate() == null) {
+                expiries.remove(id);
+                return;
+            }
+            long expiry = toEpochSecond(inventory.getExpiryDate());
+            if (expiries.get(id) == expiry) {
+                return;
+            }
+            if (expiry <= now) {
+                expiries.remove(id);
+                return;
+            }
+            expiries.put(id, expiry);
+            // 이미 지난 경계 중 가장 최근 것부터 (지금 바로 알림, 중복은 발송 전에 거른다)
+            int stage = 0;
+            while (stage + 1 < BOUNDARY_DAYS.length && expiry - BOUNDARY_DAYS[stage + 1] * DAY_SECONDS <= now) {
+                stage++;
+            }
+            heap.push(expiry - BOUNDARY_DAYS[stage] * DAY_SECONDS, id, expiry);
+            compactIfNeeded();
+        }
+    }
+
+    /**
+     * 경계를 지난 항목의 EXPIRY_ALERT 생성 (생성된 이벤트 수 반환, 이전 실행이 진행 중이면 0)
+     */
+    public Mono<Integer> fireDue() {
+        if (!firing.compareAndSet(false, true)) {
+            return Mono.just(0);
+        }
+        List<Due> due = pollDue();
+        if (due.isEmpty()) {
+            firing.set(false);
+            return Mono.just(0);
+        }
+        Long[] ids = due.stream().map(Due::inventoryId).distinct().toArray(Long[]::new);
+
+        return inventoryRepository.findAllById(Arrays.asList(ids))
+            .collectMap(Inventory::getId)
+            .flatMap(inventories -> {
+                Map<String, Alert> alerts = new LinkedHashMap<>();
+
+                for (Due entry : due) {
+                    Inventory inventory = inventories.get(entry.inventoryId());
+                    if (inventory == null || inventory.getExpiryDate() == null
+                        || toEpochSecond(inventory.getExpiryDate()) != entry.expiry()) {
+                        // 반영되지 못한 변경이 있으면 DB 기준으로 다시 추적 (삭제된 재고는 추적 종료)
+                        if (inventory != null) {
+                            track(inventory);
+                        } else {
+                            forget(entry);
+                        }
+                        continue;
+                    }
+                    if (inventory.getQuantity() == null || inventory.getQuantity() <= 0) {
+                        continue;
+                    }
+                    Alert alert = new Alert(inventory, (int) entry.days());
+                    alerts.putIfAbsent(alert.key(), alert);
+                }
+
+                return alerts.isEmpty() ? Mono.just(0) : createAlerts(List.copyOf(alerts.values()));
+            })
+            .doOnSuccess(created -> {
+                scheduleNext(due);
+                if (created != null && created > 0) {
+                    log.info("유통기한 알림 생성: {}건", created);
+                }
+            })
+            .doOnError(error -> requeue(due))
+            .doFinally(signal -> firing.set(false));
+    }
+
+    List<Due> pollDue() {
+        long now = now();
+        List<Due> due = new ArrayList<>();
+        synchronized (lock) {
+            while (!heap.isEmpty() && heap.peekFireAt() <= now && due.size() < batchSize) {
+                long fireAt = heap.peekFireAt();
+                long id = heap.peekId();
+                long expiry = heap.peekExpiry();
+                heap.pop();
+                // 유통기한이 바뀌었거나 추적이 끝난 항목은 버린다
+                if (expiries.get(id) == expiry) {
+                    due.add(new Due(id, expiry, (expiry - fireAt) / DAY_SECONDS));
+                }
+            }
+        }
+        return due;
+    }
+
+    /**
+     * 다음 경계 예약 (마지막 경계였으면 추적 종료)
+     */
+    void scheduleNext(List<Due> due) {
+        synchronized (lock) {
+            for (Due entry : due) {
+                if (expiries.get(entry.inventoryId()) != entry.expiry()) {
+                    continue;
+                }
+                int stage = stageOf(entry.days());
+                if (stage + 1 < BOUNDARY_DAYS.length) {
+                    heap.push(entry.expiry() - BOUNDARY_DAYS[stage + 1] * DAY_SECONDS, entry.inventoryId(), entry.expiry());
+                } else {
+                    expiries.remove(entry.inventoryId());
+                }
+            }
+        }
+    }
+
+    private void forget(Due entry) {
+        synchronized (lock) {
+            if (expiries.get(entry.inventoryId()) == entry.expiry()) {
+                expiries.remove(entry.inventoryId());
+            }
+        }
+    }
+
+    /**
+     * 실패한 항목은 다음 실행에서 다시 시도
+     */
+    private void requeue(List<Due> due) {
+        synchronized (lock) {
+            for (Due entry : due) {
+                heap.push(entry.expiry() - entry.days() * DAY_SECONDS, entry.inventoryId(), entry.expiry());
+            }
+        }
+    }
+
+    /**
+     * 선점한 알림만 EXPIRY_ALERT 와 사용자 알림으로 저장 (한 트랜잭션, 생성된 이벤트 수 반환)
+     */
+    private Mono<Integer> createAlerts(List<Alert> alerts) {
+        return claim(alerts)
+            .flatMap(claimed -> claimed.isEmpty()
+                ? Mono.just(0)
+                : eventService.createEventsWithDetails(claimed.stream()
+                        .map(alert -> eventService.buildExpiryAlertEvent(
+                            alert.inventory().getId(), alert.inventory().getProductId(), alert.inventory().getWarehouseId(),
+                            alert.inventory().getQuantity(), alert.inventory().getExpiryDate(), alert.days()))
+                        .toList())
+                    .flatMap(created -> notify(claimed).thenReturn(created)))
+            .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * 선점한 재고의 유통기한 임박 사용자 알림 생성
+     */
+    private Mono<Void> notify(List<Alert> claimed) {
+        return analysisService.getExpiringItems(claimed.stream().map(alert -> alert.inventory().getId()).toList())
+            .map(item -> notificationService.buildExpiryAlert(
+                notifyUserId, item.getProductName(), item.getExpiryDate(),
+                item.getWarehouseLocation() + " / " + item.getInventoryLocation(), item.getQuantity(), item.getUnit()))
+            .collectList()
+            .flatMapMany(notificationService::createNotifications)
+            .then();
+    }
+
+    /**
+     * (재고, 경계, 유통기한) 선점 (다른 노드나 이전 실행이 이미 선점한 알림은 제외)
+     */
+    private Mono<List<Alert>> claim(List<Alert> alerts) {
+        int size = alerts.size();
+        Long[] inventoryIds = new Long[size];
+        Integer[] daysRemaining = new Integer[size];
+        LocalDateTime[] expiryDates = new LocalDateTime[size];
+        for (int i = 0; i < size; i++) {
+            Alert alert = alerts.get(i);
+            inventoryIds[i] = alert.inventory().getId();
+            daysRemaining[i] = alert.days();
+            expiryDates[i] = alert.inventory().getExpiryDate();
+        }
+
+        return databaseClient.sql("""
+                INSERT INTO inventory_expiry_alerts (inventory_id, days_remaining, expiry_date)
+                SELECT * FROM unnest(
+                    CAST(:inventoryIds AS BIGINT[]),
+                    CAST(:daysRemaining AS INT[]),
+                    CAST(:expiryDates AS TIMESTAMP[]))
+                ON CONFLICT DO NOTHING
+                RETURNING inventory_id, days_remaining
+                """)
+            .bind("inventoryIds", inventoryIds)
+            .bind("daysRemaining", daysRemaining)
+            .bind("expiryDates", expiryDates)
+            .map(row -> Rows.getLong(row, "inventory_id") + ":" + Rows.getInt(row, "days_remaining"))
+            .all()
+            .collect(Collectors.toSet())
+            .map(claimed -> alerts.stream()
+                .filter(alert -> claimed.contains(alert.key()))
+                .toList());
+    }
+
+    private void compactIfNeeded() {
+        if (heap.size() > 1024 && heap.size() > expiries.size() * 2) {
+            heap.retain(expiries);
+        }
+    }
+
+    private static int stageOf(long days) {
+        for (int i = 0; i < BOUNDARY_DAYS.length; i++) {
+            if (BOUNDARY_DAYS[i] == days) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 유통기한 알림 경계: " + days);
+    }
+
+    private static long now() {
+        return toEpochSecond(LocalDateTime.now());
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    record Due(Long inventoryId, long expiry, long days) {
+    }
+
+    /**
+     * 알림 대상 재고 행과 경계 (한 번의 알림에서 재고는 유통기한이 하나뿐이므로 (재고, 경계)로 구분)
+     */
+    private record Alert(Inventory inventory, int days) {
+
+        String key() {
+            return inventory.getId() + ":" + days;
+        }
+    }
+
+    /**
+     * (경계 시각, 재고 id, 유통기한) 이진 min-heap (병렬 long 배열)
+     */
+    static final class ExpiryHeap {
+        private long[] fireAts;
+        private long[] ids;
+        private long[] expiries;
+        private int size;
+
+        ExpiryHeap(int capacity) {
+            fireAts = new long[capacity];
+            ids = new long[capacity];
+            expiries = new long[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long peekFireAt() {
+            return fireAts[0];
+        }
+
+        long peekId() {
+            return ids[0];
+        }
+
+        long peekExpiry() {
+            return expiries[0];
+        }
+
+        void push(long fireAt, long id, long expiry) {
+            if (size == fireAts.length) {
+                int capacity = size << 1;
+                fireAts = Arrays.copyOf(fireAts, capacity);
+                ids = Arrays.copyOf(ids, capacity);
+                expiries = Arrays.copyOf(expiries, capacity);
+            }
+            set(size, fireAt, id, expiry);
+            siftUp(size++);
+        }
+
+        void pop() {
+            size--;
+            if (size > 0) {
+                set(0, fireAts[size], ids[size], expiries[size]);
+                siftDown(0);
+            }
+        }
+
+        /**
+         * 현재 유통기한과 일치하는 항목만 남기고 다시 heap 으로 정렬
+         */
+        void retain(LongLongHashMap current) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (current.get(ids[i]) == expiries[i]) {
+                    set(kept++, fireAts[i], ids[i], expiries[i]);
+                }
+            }
+            size = kept;
+            for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (fireAts[parent] <= fireAts[index]) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = (index << 1) + 1;
+                int right = left + 1;
+                if (left < size && fireAts[left] < fireAts[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && fireAts[right] < fireAts[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(smallest, index);
+                index = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long fireAt = fireAts[a];
+            long id = ids[a];
+            long expiry = expiries[a];
+            set(a, fireAts[b], ids[b], expiries[b]);
+            set(b, fireAt, id, expiry);
+        }
+
+        private void set(int index, long fireAt, long id, long expiry) {
+            fireAts[index] = fireAt;
+            ids[index] = id;
+            expiries[index] = expiry;
+        }
+    }
+}
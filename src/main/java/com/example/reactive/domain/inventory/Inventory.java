@@ -10,7 +10,7 @@ import org.springframework.data.relational.core.mapping.Table;
 import java.time.LocalDateTime;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Table("inventory")
@@ -30,4 +30,5 @@ public class Inventory {
     private LocalDateTime expiryDate; // 재고 부족 해당 날짜
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version; // 행 변경 순번 (UPDATE 마다 1 증가, 커밋되지 않은 중간 상태는 null)
 }
\ No newline at end of file
@@ -1,14 +1,21 @@
 package com.example.reactive.domain.inventory;
 
+import com.example.reactive.global.util.Rows;
+import com.example.reactive.global.util.WarehouseShard;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.util.Collection;
+import java.util.function.BiFunction;
 
 @Slf4j
 @Service
@@ -16,47 +23,149 @@ import reactor.core.publisher.Mono;
 public class InventoryAnalysisService {
 
     private final InventoryRepository inventoryRepository;
+    private final DatabaseClient databaseClient;
+    private final InventoryValuationService valuationService;
+
+    // 재발주 필요 상품 조회 (수요 예측이 있으면 재주문점/목표 재고, 없으면 minimum_threshold 기준)
+    private static final String ITEMS_NEED_REORDER = """
+        SELECT i.id AS inventory_id, i.product_id, i.warehouse_id, p.product_name, p.unit, p.price AS unit_price,
+               i.quantity AS current_quantity, i.minimum_threshold,
+               r.reorder_point,
+               GREATEST(r.order_up_to - i.quantity, 0) AS suggested_quantity,
+               w.location AS warehouse_location, p.supplier AS supplier_name,
+               (GREATEST(r.order_up_to - i.quantity, 0) * p.price) AS estimated_cost
+        FROM inventory i
+        JOIN products p ON i.product_id = p.id
+        JOIN warehouses w ON i.warehouse_id = w.id
+        LEFT JOIN demand_forecasts f ON f.warehouse_id = i.warehouse_id AND f.product_id = i.product_id
+        CROSS JOIN LATERAL (
+            SELECT COALESCE(f.reorder_point, i.minimum_threshold) AS reorder_point,
+                   COALESCE(f.order_up_to, i.minimum_threshold * 3) AS order_up_to
+        ) r
+        WHERE i.quantity <= r.reorder_point
+        AND r.reorder_point > 0
+        %s
+        AND NOT EXISTS (
+            SELECT 1 FROM purchase_orders po
+            WHERE po.product_id = i.product_id
+            AND po.warehouse_id = i.warehouse_id
+            AND po.status IN ('PENDING', 'SENT', 'CONFIRMED', 'IN_TRANSIT')
+        )
+        ORDER BY (i.quantity / r.reorder_point) ASC
+        """;
+
+    // 유통기한 임박 상품 상세 정보
+    private static final String EXPIRING_ITEMS = """
+        SELECT i.id AS inventory_id, p.product_name, p.unit, i.quantity, i.expiry_date,
+               EXTRACT(DAY FROM (i.expiry_date - CURRENT_TIMESTAMP)) AS days_until_expiry,
+               w.location AS warehouse_location, i.location AS inventory_location,
+               CASE
+                   WHEN i.expiry_date <= CURRENT_TIMESTAMP + INTERVAL '2 days' THEN 'URGENT'
+                   WHEN i.expiry_date <= CURRENT_TIMESTAMP + INTERVAL '5 days' THEN 'HIGH'
+                   ELSE 'MEDIUM'
+               END AS priority_level
+        FROM inventory i
+        JOIN products p ON i.product_id = p.id
+        JOIN warehouses w ON i.warehouse_id = w.id
+        WHERE i.expiry_date IS NOT NULL
+        AND i.expiry_date <= CURRENT_TIMESTAMP + INTERVAL '7 days'
+        AND i.quantity > 0
+        %s
+        ORDER BY i.expiry_date ASC
+        """;
+
+    // 컬럼 이름 기반 Row → DTO 매퍼 (한 번 생성해 재사용)
+    private static final BiFunction<Row, RowMetadata, ReorderItem> REORDER_ITEM_MAPPER = (row, metadata) ->
+        ReorderItem.builder()
+            .inventoryId(Rows.getLong(row, "inventory_id"))
+            .productId(Rows.getLong(row, "product_id"))
+            .warehouseId(Rows.getLong(row, "warehouse_id"))
+            .productName(Rows.getString(row, "product_name"))
+            .unit(Rows.getString(row, "unit"))
+            .unitPrice(Rows.getDouble(row, "unit_price"))
+            .currentQuantity(Rows.getDouble(row, "current_quantity"))
+            .minimumThreshold(Rows.getDouble(row, "minimum_threshold"))
+            .reorderPoint(Rows.getDouble(row, "reorder_point"))
+            .suggestedOrderQuantity(Rows.getDouble(row, "suggested_quantity"))
+            .warehouseLocation(Rows.getString(row, "warehouse_location"))
+            .supplierName(Rows.getString(row, "supplier_name"))
+            .estimatedCost(Rows.getDouble(row, "estimated_cost"))
+            .build();
+
+    private static final BiFunction<Row, RowMetadata, ExpiringItem> EXPIRING_ITEM_MAPPER = (row, metadata) ->
+        ExpiringItem.builder()
+            .inventoryId(Rows.getLong(row, "inventory_id"))
+            .productName(Rows.getString(row, "product_name"))
+            .unit(Rows.getString(row, "unit"))
+            .quantity(Rows.getDouble(row, "quantity"))
+            .expiryDate(Rows.getDateTime(row, "expiry_date"))
+            .daysUntilExpiry(Rows.getInt(row, "days_until_expiry"))
+            .warehouseLocation(Rows.getString(row, "warehouse_location"))
+            .inventoryLocation(Rows.getString(row, "inventory_location"))
+            .priorityLevel(Rows.getString(row, "priority_level"))
+            .build();
 
     /**
      * 재발주 필요 상품 조회 (PostgreSQL 함수 대체)
      */
     public Flux<ReorderItem> getItemsNeedReorder() {
-        return inventoryRepository.findItemsNeedReorder()
-            .map(row -> ReorderItem.builder()
-                .inventoryId((Long) row[0])
-                .productName((String) row[1])
-                .currentQuantity((Double) row[2])
-                .minimumThreshold((Double) row[3])
-                .suggestedOrderQuantity((Double) row[4])
-                .warehouseLocation((String) row[5])
-                .supplierName((String) row[6])
-                .estimatedCost((Double) row[7])
-                .build())
+        return getItemsNeedReorder(WarehouseShard.ALL);
+    }
+
+    /**
+     * 창고 구간의 재발주 필요 상품 조회
+     */
+    public Flux<ReorderItem> getItemsNeedReorder(WarehouseShard shard) {
+        return databaseClient.sql(ITEMS_NEED_REORDER.formatted(shard.sqlPredicate("i.warehouse_id")))
+            .map(REORDER_ITEM_MAPPER)
+            .all()
             .doOnNext(item -> log.debug("재발주 필요 상품: {}", item.getProductName()));
     }
 
+    /**
+     * 지정한 재고 중 재발주 필요 상품 조회
+     */
+    public Flux<ReorderItem> getItemsNeedReorder(Collection<Long> inventoryIds) {
+        return databaseClient.sql(ITEMS_NEED_REORDER.formatted("AND i.id = ANY(:inventoryIds)"))
+            .bind("inventoryIds", inventoryIds.toArray(Long[]::new))
+            .map(REORDER_ITEM_MAPPER)
+            .all();
+    }
+
     /**
      * 유통기한 임박 상품 조회 (PostgreSQL 함수 대체)
      */
     public Flux<ExpiringItem> getExpiringItems() {
-        return inventoryRepository.findExpiringItemsWithDetails()
-            .map(row -> ExpiringItem.builder()
-                .inventoryId((Long) row[0])
-                .productName((String) row[1])
-                .quantity((Double) row[2])
-                .expiryDate((java.time.LocalDateTime) row[3])
-                .daysUntilExpiry((Integer) row[4])
-                .warehouseLocation((String) row[5])
-                .inventoryLocation((String) row[6])
-                .priorityLevel((String) row[7])
-                .build())
+        return getExpiringItems(WarehouseShard.ALL);
+    }
+
+    /**
+     * 창고 구간의 유통기한 임박 상품 조회
+     */
+    public Flux<ExpiringItem> getExpiringItems(WarehouseShard shard) {
+        return databaseClient.sql(EXPIRING_ITEMS.formatted(shard.sqlPredicate("i.warehouse_id")))
+            .map(EXPIRING_ITEM_MAPPER)
+            .all()
             .doOnNext(item -> log.debug("유통기한 임박 상품: {}", item.getProductName()));
     }
 
     /**
-     * 총 재고 가치 계산
+     * 지정한 재고 중 유통기한 임박 상품 조회
+     */
+    public Flux<ExpiringItem> getExpiringItems(Collection<Long> inventoryIds) {
+        return databaseClient.sql(EXPIRING_ITEMS.formatted("AND i.id = ANY(:inventoryIds)"))
+            .bind("inventoryIds", inventoryIds.toArray(Long[]::new))
+            .map(EXPIRING_ITEM_MAPPER)
+            .all();
+    }
+
+    /**
+     * 총 재고 가치 (메모리 누적 합계, 적재 전에는 DB 합산)
      */
     public Mono<Double> getTotalInventoryValue() {
+        if (valuationService.isLoaded()) {
+            return Mono.just(valuationService.getTotalValue().doubleValue());
+        }
         return inventoryRepository.calculateTotalInventoryValue()
             .defaultIfEmpty(0.0);
     }
@@ -68,9 +177,14 @@ public class InventoryAnalysisService {
     @NoArgsConstructor
     public static class ReorderItem {
         private Long inventoryId;
+        private Long productId;
+        private Long warehouseId;
         private String productName;
+        private String unit;
+        private Double unitPrice;
         private Double currentQuantity;
         private Double minimumThreshold;
+        private Double reorderPoint; // 수요 예측 재주문점 (예측이 없으면 minimum_threshold)
         private Double suggestedOrderQuantity;
         private String warehouseLocation;
         private String supplierName;
@@ -84,6 +198,7 @@ public class InventoryAnalysisService {
     public static class ExpiringItem {
         private Long inventoryId;
         private String productName;
+        private String unit;
         private Double quantity;
         private java.time.LocalDateTime expiryDate;
         private Integer daysUntilExpiry;
@@ -0,0 +1,152 @@
+package com.example.reactive.domain.inventory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+/**
+ * 재고 조회 캐시 (id / (warehouseId, productId) 두 가지 키)
+ * 크기와 TTL 로 제거되며, 항목은 Inventory 객체 대신 원시 타입 필드만 가진 CachedInventory 로 보관한다.
+ * InventoryService 의 모든 변경 작업은 반환된 행으로 캐시를 동기적으로 갱신하며,
+ * 늦게 도착한 오래된 행(조회 결과 포함)이 더 새로운 항목을 덮어쓰지 않도록 행 version 이 더 큰 경우에만 교체한다.
+ */
+@Component
+public class InventoryCache {
+
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+
+    private final Cache<Long, CachedInventory> byId;
+    private final Cache<Long, Long> idByWarehouseAndProduct;
+
+    public InventoryCache(
+        MeterRegistry meterRegistry,
+        @Value("${inventory.cache.maximum-size:1000000}") long maximumSize,
+        @Value("${inventory.cache.ttl-seconds:300}") long ttlSeconds) {
+
+        this.byId = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+        this.idByWarehouseAndProduct = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "inventory.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByWarehouseAndProduct, "inventory.byWarehouseAndProduct");
+    }
+
+    /**
+     * id 로 조회
+     */
+    public Optional<Inventory> get(Long inventoryId) {
+        return Optional.ofNullable(byId.getIfPresent(inventoryId))
+            .map(CachedInventory::toInventory);
+    }
+
+    /**
+     * 창고/상품으로 조회
+     */
+    public Optional<Inventory> get(Long warehouseId, Long productId) {
+        Long inventoryId = idByWarehouseAndProduct.getIfPresent(key(warehouseId, productId));
+        if (inventoryId == null) {
+            return Optional.empty();
+        }
+        return get(inventoryId);
+    }
+
+    /**
+     * 조회 결과 또는 변경된 행 반영 (version 이 없는 중간 상태는 캐시하지 않음)
+     */
+    public void put(Inventory inventory) {
+        if (inventory.getId() == null || inventory.getVersion() == null) {
+            return;
+        }
+        byId.asMap().merge(inventory.getId(), CachedInventory.from(inventory),
+            (cached, updated) -> updated.version >= cached.version ? updated : cached);
+        idByWarehouseAndProduct.put(key(inventory.getWarehouseId(), inventory.getProductId()), inventory.getId());
+    }
+
+    /**
+     * 캐시 항목 제거
+     */
+    public void evict(Long inventoryId) {
+        CachedInventory cached = byId.getIfPresent(inventoryId);
+        byId.invalidate(inventoryId);
+        if (cached != null) {
+            idByWarehouseAndProduct.invalidate(key(cached.warehouseId, cached.productId));
+        }
+    }
+
+    /**
+     * (warehouseId, productId) 를 하나의 long 키로 결합 (두 id 모두 SERIAL 범위)
+     */
+    private static long key(Long warehouseId, Long productId) {
+        return (warehouseId << 32) | (productId & 0xFFFFFFFFL);
+    }
+
+    /**
+     * 캐시 항목 (박싱/LocalDateTime 객체 없이 원시 타입으로 보관)
+     */
+    private static final class CachedInventory {
+        private final long id;
+        private final long warehouseId;
+        private final long productId;
+        private final String location;
+        private final double quantity;
+        private final double minimumThreshold; // null 이면 NaN
+        private final long expiryEpochSecond;  // null 이면 NULL_TIMESTAMP
+        private final long createdEpochSecond;
+        private final long updatedEpochSecond;
+        private final long version;
+
+        private CachedInventory(Inventory inventory) {
+            this.id = inventory.getId();
+            this.warehouseId = inventory.getWarehouseId();
+            this.productId = inventory.getProductId();
+            this.location = inventory.getLocation();
+            this.quantity = inventory.getQuantity() != null ? inventory.getQuantity() : 0.0;
+            this.minimumThreshold = inventory.getMinimumThreshold() != null ? inventory.getMinimumThreshold() : Double.NaN;
+            this.expiryEpochSecond = toEpochSecond(inventory.getExpiryDate());
+            this.createdEpochSecond = toEpochSecond(inventory.getCreatedAt());
+            this.updatedEpochSecond = toEpochSecond(inventory.getUpdatedAt());
+            this.version = inventory.getVersion();
+        }
+
+        static CachedInventory from(Inventory inventory) {
+            return new CachedInventory(inventory);
+        }
+
+        Inventory toInventory() {
+            return Inventory.builder()
+                .id(id)
+                .warehouseId(warehouseId)
+                .productId(productId)
+                .location(location)
+                .quantity(quantity)
+                .minimumThreshold(Double.isNaN(minimumThreshold) ? null : minimumThreshold)
+                .expiryDate(toDateTime(expiryEpochSecond))
+                .createdAt(toDateTime(createdEpochSecond))
+                .updatedAt(toDateTime(updatedEpochSecond))
+                .version(version)
+                .build();
+        }
+
+        private static long toEpochSecond(LocalDateTime dateTime) {
+            return dateTime != null ? dateTime.toEpochSecond(ZoneOffset.UTC) : NULL_TIMESTAMP;
+        }
+
+        private static LocalDateTime toDateTime(long epochSecond) {
+            return epochSecond != NULL_TIMESTAMP ? LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC) : null;
+        }
+    }
+}
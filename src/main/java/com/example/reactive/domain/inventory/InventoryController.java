@@ -2,10 +2,13 @@ package com.example.reactive.domain.inventory;
 
 import com.example.reactive.domain.order.AutoOrderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/inventory")
@@ -14,6 +17,9 @@ public class InventoryController {
 
     private final InventoryService inventoryService;
     private final AutoOrderService autoOrderService;
+    private final InventorySnapshotService snapshotService;
+    private final WarehouseStatisticsService warehouseStatisticsService;
+    private final InventoryValuationService valuationService;
 
     /**
      * 재고 입고 처리
@@ -43,6 +49,16 @@ public class InventoryController {
             .onErrorReturn(ResponseEntity.badRequest().build());
     }
 
+    /**
+     * 재고 일괄 증감 처리 (JSON 배열 또는 NDJSON 스트림 입력, 항목별 결과를 NDJSON 으로 스트리밍)
+     */
+    @PostMapping(value = "/bulk-adjust", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<InventoryService.StockAdjustmentResult> bulkAdjust(
+        @RequestBody Flux<StockAdjustmentRequest> adjustments) {
+
+        return inventoryService.bulkAdjust(adjustments);
+    }
+
     /**
      * 재고 이동 처리
      */
@@ -57,6 +73,30 @@ public class InventoryController {
             .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    /**
+     * 특정 시점의 재고 수량 조회
+     */
+    @GetMapping("/{inventoryId}/as-of")
+    public Mono<ResponseEntity<InventorySnapshotService.InventoryAsOf>> getInventoryAsOf(
+        @PathVariable Long inventoryId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ts) {
+
+        return snapshotService.getInventoryAsOf(inventoryId, ts)
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 특정 시점의 창고 전체 재고 수량 조회
+     */
+    @GetMapping("/warehouse/{warehouseId}/as-of")
+    public Flux<InventorySnapshotService.InventoryAsOf> getWarehouseInventoryAsOf(
+        @PathVariable Long warehouseId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ts) {
+
+        return snapshotService.getWarehouseInventoryAsOf(warehouseId, ts);
+    }
+
     /**
      * 창고별 재고 현황 조회
      */
@@ -73,6 +113,44 @@ public class InventoryController {
         return inventoryService.getLowStockItems();
     }
 
+    /**
+     * 창고별 재고 통계 (메모리 집계)
+     */
+    @GetMapping("/statistics/warehouses")
+    public Flux<WarehouseStatisticsService.WarehouseStatistics> getWarehouseStatistics() {
+        return Flux.fromIterable(warehouseStatisticsService.getAllStatistics());
+    }
+
+    /**
+     * 창고 재고 통계 (메모리 집계)
+     */
+    @GetMapping("/statistics/warehouses/{warehouseId}")
+    public Mono<ResponseEntity<WarehouseStatisticsService.WarehouseStatistics>> getWarehouseStatistics(
+        @PathVariable Long warehouseId) {
+
+        return Mono.justOrEmpty(warehouseStatisticsService.getStatistics(warehouseId))
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 재고 가치 (전체 / 창고별 / 카테고리별, 메모리 누적 합계)
+     */
+    @GetMapping("/valuation")
+    public Mono<InventoryValuationService.Valuation> getValuation() {
+        return Mono.fromSupplier(valuationService::getValuation);
+    }
+
+    /**
+     * 재고 가치 검증 (창고 단위 병렬 재계산, correct=true 면 불일치 시 다시 적재)
+     */
+    @PostMapping("/valuation/verify")
+    public Mono<InventoryValuationService.Verification> verifyValuation(
+        @RequestParam(defaultValue = "false") boolean correct) {
+
+        return valuationService.verify(correct);
+    }
+
     /**
      * 수동 자동 발주 트리거
      */
@@ -0,0 +1,169 @@
+package com.example.reactive.domain.inventory;
+
+import reactor.core.publisher.Mono;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 재고 항목 단위 증분 집계
+ * 재고 항목마다 마지막으로 반영한 상태(S)를 보관하고, 재고 변경/상품 변경(P) 시 항목 단위로 원자적으로 교체하면서
+ * 이전 상태를 빼고 새 상태를 합계에 더한다. 이미 반영한 것보다 오래된 version 의 재고 행은 반영하지 않는다.
+ * 하위 클래스는 항목 상태를 만드는 방법과 합계에 더하는 방법만 정하고, 전체 재계산 교체는 {@link Holder} 가 맡는다.
+ */
+abstract class InventoryItemAggregate<P, S> {
+
+    private final Map<Long, Slot<S>> items = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> inventoriesByProduct = new ConcurrentHashMap<>();
+    private final Map<Long, P> products = new ConcurrentHashMap<>();
+
+    /**
+     * 상품 정보가 없는 재고 항목에 쓸 상품 상태
+     */
+    protected abstract P unknownProduct();
+
+    /**
+     * 재고 행과 상품 상태로 항목 상태 생성
+     */
+    protected abstract S itemOf(Inventory inventory, P product);
+
+    /**
+     * 상품 상태만 바꾼 항목 상태
+     */
+    protected abstract S withProduct(S item, P product);
+
+    /**
+     * 항목 상태를 합계에 더하거나(sign = 1) 뺀다(sign = -1)
+     */
+    protected abstract void add(S item, int sign);
+
+    int size() {
+        return items.size();
+    }
+
+    /**
+     * 적재 시 상품 상태 등록 (이미 반영된 항목은 다시 계산하지 않음)
+     */
+    void putProduct(Long productId, P product) {
+        products.put(productId, product);
+    }
+
+    void apply(Inventory inventory) {
+        // 상품 변경이 이 항목을 놓치지 않도록 인덱스에 먼저 등록한 뒤 상품 상태를 읽는다
+        inventoriesByProduct.computeIfAbsent(inventory.getProductId(), id -> ConcurrentHashMap.newKeySet())
+            .add(inventory.getId());
+
+        items.compute(inventory.getId(), (id, previous) -> {
+            if (previous != null && previous.isNewerThan(inventory.getVersion())) {
+                return previous;
+            }
+            P product = products.getOrDefault(inventory.getProductId(), unknownProduct());
+            Slot<S> next = new Slot<>(itemOf(inventory, product), inventory.getVersion());
+            move(previous, next);
+            return next;
+        });
+    }
+
+    void applyProduct(Long productId, P product) {
+        products.put(productId, product);
+        for (Long inventoryId : inventoriesByProduct.getOrDefault(productId, Set.of())) {
+            items.computeIfPresent(inventoryId, (id, previous) -> {
+                Slot<S> next = new Slot<>(withProduct(previous.item(), product), previous.version());
+                move(previous, next);
+                return next;
+            });
+        }
+    }
+
+    private void move(Slot<S> previous, Slot<S> next) {
+        if (previous != null) {
+            add(previous.item(), -1);
+        }
+        add(next.item(), 1);
+    }
+
+    /**
+     * 항목 상태와 그 상태를 만든 재고 행의 version (version 이 없으면 항상 교체)
+     */
+    private record Slot<S>(S item, Long version) {
+
+        boolean isNewerThan(Long otherVersion) {
+            return version != null && otherVersion != null && version > otherVersion;
+        }
+    }
+
+    /**
+     * 현재 집계와 전체 재계산
+     * 재계산은 새 집계를 따로 적재하고, 그동안 들어온 변경을 새 집계에 반영한 뒤 교체한다.
+     * 교체 직전에 들어온 변경은 이전 집계에만 반영되므로 교체 후 한 번 더 반영한다.
+     */
+    static final class Holder<P, A extends InventoryItemAggregate<P, ?>> {
+
+        private volatile A current;
+        private final AtomicBoolean rebuilding = new AtomicBoolean();
+        private final Map<Long, Inventory> changedDuringRebuild = new ConcurrentHashMap<>();
+        private final Map<Long, P> productsChangedDuringRebuild = new ConcurrentHashMap<>();
+
+        Holder(A initial) {
+            this.current = initial;
+        }
+
+        A current() {
+            return current;
+        }
+
+        void onInventoryChanged(Inventory inventory) {
+            if (rebuilding.get()) {
+                changedDuringRebuild.put(inventory.getId(), inventory);
+            }
+            current.apply(inventory);
+        }
+
+        void onProductChanged(Long productId, P product) {
+            if (rebuilding.get()) {
+                productsChangedDuringRebuild.put(productId, product);
+            }
+            current.applyProduct(productId, product);
+        }
+
+        /**
+         * next 를 적재해 교체하고 교체된 집계를 돌려줌 (이미 재계산 중이면 empty)
+         */
+        Mono<A> rebuild(A next, Function<A, Mono<Void>> loader) {
+            if (!rebuilding.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            return loader.apply(next)
+                .then(Mono.fromSupplier(() -> {
+                    replayChangesInto(next);
+                    current = next;
+                    rebuilding.set(false);
+                    replayChangesInto(next);
+                    return next;
+                }))
+                .doOnError(error -> {
+                    rebuilding.set(false);
+                    productsChangedDuringRebuild.clear();
+                    changedDuringRebuild.clear();
+                });
+        }
+
+        /**
+         * 재계산 중 기록된 변경 반영 (반영한 값만 지우므로 그 사이 다시 기록된 변경은 남는다)
+         */
+        private void replayChangesInto(A next) {
+            productsChangedDuringRebuild.forEach((productId, product) -> {
+                if (productsChangedDuringRebuild.remove(productId, product)) {
+                    next.applyProduct(productId, product);
+                }
+            });
+            changedDuringRebuild.forEach((inventoryId, inventory) -> {
+                if (changedDuringRebuild.remove(inventoryId, inventory)) {
+                    next.apply(inventory);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.reactive.domain.inventory;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("inventory_projection_checkpoints")
+public class InventoryProjectionCheckpoint {
+    @Id
+    @Column("run_id")
+    private String runId;
+
+    private String mode; // DRY_RUN, REBUILD
+    private Long lastInventoryId; // 처리가 끝난 마지막 재고 id (재개 위치)
+    private Long processedCount;
+    private Long mismatchCount;
+    private Long correctedCount;
+    private Boolean completed;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,43 @@
+package com.example.reactive.domain.inventory;
+
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface InventoryProjectionCheckpointRepository extends ReactiveCrudRepository<InventoryProjectionCheckpoint, String> {
+
+    // 실행 시작 (같은 run_id 가 있으면 기존 진행 위치를 그대로 반환)
+    @Query("""
+        INSERT INTO inventory_projection_checkpoints (run_id, mode)
+        VALUES (:runId, :mode)
+        ON CONFLICT (run_id) DO UPDATE SET updated_at = CURRENT_TIMESTAMP
+        RETURNING *
+        """)
+    Mono<InventoryProjectionCheckpoint> start(String runId, String mode);
+
+    // 구간 처리 완료 반영
+    @Modifying
+    @Query("""
+        UPDATE inventory_projection_checkpoints
+        SET last_inventory_id = :lastInventoryId,
+            processed_count = processed_count + :processed,
+            mismatch_count = mismatch_count + :mismatches,
+            corrected_count = corrected_count + :corrected,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE run_id = :runId
+        """)
+    Mono<Integer> advance(String runId, Long lastInventoryId, long processed, long mismatches, long corrected);
+
+    // 실행 완료 표시
+    @Modifying
+    @Query("""
+        UPDATE inventory_projection_checkpoints
+        SET completed = TRUE,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE run_id = :runId
+        """)
+    Mono<Integer> complete(String runId);
+}
@@ -0,0 +1,39 @@
+package com.example.reactive.domain.inventory;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin/inventory-projection")
+@RequiredArgsConstructor
+public class InventoryProjectionController {
+
+    private final InventoryProjectionService projectionService;
+
+    /**
+     * 이벤트 재생으로 재고 수량 검증/재구성 (불일치 항목을 NDJSON 으로 스트리밍)
+     * 같은 runId 로 다시 호출하면 마지막 checkpoint 이후부터 재개한다.
+     */
+    @PostMapping(value = "/replay", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<InventoryProjectionService.ProjectionMismatch> replay(
+        @RequestParam(defaultValue = "DRY_RUN") InventoryProjectionService.Mode mode,
+        @RequestParam(required = false) String runId) {
+
+        return projectionService.replay(runId != null ? runId : UUID.randomUUID().toString(), mode);
+    }
+
+    /**
+     * 실행 진행 상황 조회
+     */
+    @GetMapping("/checkpoints/{runId}")
+    public Mono<ResponseEntity<InventoryProjectionCheckpoint>> getCheckpoint(@PathVariable String runId) {
+        return projectionService.getCheckpoint(runId)
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.reactive.domain.inventory;
+
+import com.example.reactive.domain.inventory_event.EventMetadata;
+import com.example.reactive.domain.inventory_event.InventoryEvent;
+import com.example.reactive.domain.inventory_event.InventoryEventRepository;
+import com.example.reactive.domain.inventory_event.InventoryEventService;
+import com.example.reactive.global.util.Quantities;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 재고 이벤트 재생으로 inventory.quantity 검증/재구성
+ * 재고를 id 순으로 읽어 구간(chunk) 단위로 나누고, 구간별 이벤트 재생을 병렬 스케줄러에서 동시에 실행한다.
+ * 보관 기간이 지난 이벤트는 파티션과 함께 삭제되므로, 재생은 남아 있는 첫 이벤트의 previousQuantity 에서 시작해
+ * 이후 이벤트의 (newQuantity - previousQuantity) 를 더한다. STOCK_CORRECTED 이벤트는 교정된 수량(newQuantity)으로 재설정한다.
+ * 교정은 수량 UPDATE 와 STOCK_CORRECTED 이벤트를 한 트랜잭션으로 기록하고, 커밋된 행은 InventoryService 의 변경 후처리
+ * (캐시, 창고 통계, 재고 가치, 유통기한 추적)로 반영한다.
+ * 구간 결과는 재고 id 순서대로 반영되고, 구간마다 checkpoint 를 남겨 같은 runId 로 중단 지점부터 재개할 수 있다.
+ */
+@Slf4j
+@Service
+public class InventoryProjectionService {
+
+    public enum Mode {
+        DRY_RUN, // 불일치만 보고
+        REBUILD  // 불일치 행을 재생 수량으로 교정
+    }
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryEventRepository eventRepository;
+    private final InventoryProjectionCheckpointRepository checkpointRepository;
+    private final InventoryEventService eventService;
+    private final InventoryService inventoryService;
+    private final TransactionalOperator transactionalOperator;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public InventoryProjectionService(
+        InventoryRepository inventoryRepository,
+        InventoryEventRepository eventRepository,
+        InventoryProjectionCheckpointRepository checkpointRepository,
+        InventoryEventService eventService,
+        InventoryService inventoryService,
+        TransactionalOperator transactionalOperator,
+        @Value("${inventory.projection.chunk-size:500}") int chunkSize,
+        @Value("${inventory.projection.parallelism:0}") int parallelism) {
+
+        this.inventoryRepository = inventoryRepository;
+        this.eventRepository = eventRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.eventService = eventService;
+        this.inventoryService = inventoryService;
+        this.transactionalOperator = transactionalOperator;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism > 0 ? parallelism : Schedulers.DEFAULT_POOL_SIZE;
+    }
+
+    /**
+     * 이벤트 재생 실행 (불일치 항목 스트리밍)
+     * 이미 완료된 runId 는 아무것도 하지 않는다.
+     */
+    public Flux<ProjectionMismatch> replay(String runId, Mode mode) {
+        return checkpointRepository.start(runId, mode.name())
+            .flatMapMany(checkpoint -> {
+                if (Boolean.TRUE.equals(checkpoint.getCompleted())) {
+                    log.info("이미 완료된 재고 이벤트 재생: runId={}", runId);
+                    return Flux.empty();
+                }
+                log.info("재고 이벤트 재생 시작: runId={}, 모드={}, 재개 위치={}, 병렬도={}",
+                    runId, mode, checkpoint.getLastInventoryId(), parallelism);
+
+                return inventoryRepository.findAllAfterId(checkpoint.getLastInventoryId())
+                    .buffer(chunkSize)
+                    .flatMapSequential(this::replayChunk, parallelism)
+                    .concatMap(result -> applyChunk(runId, mode, result))
+                    .concatWith(checkpointRepository.complete(runId)
+                        .doOnSuccess(unused -> log.info("재고 이벤트 재생 완료: runId={}", runId))
+                        .then(Mono.empty()));
+            });
+    }
+
+    /**
+     * 실행 진행 상황 조회
+     */
+    public Mono<InventoryProjectionCheckpoint> getCheckpoint(String runId) {
+        return checkpointRepository.findById(runId);
+    }
+
+    /**
+     * 구간 내 재고들의 이벤트를 재고별로 누적 (병렬 스케줄러에서 실행)
+     */
+    private Mono<ChunkResult> replayChunk(List<Inventory> chunk) {
+        Long[] inventoryIds = chunk.stream().map(Inventory::getId).toArray(Long[]::new);
+
+        return eventRepository.findReplayEvents(inventoryIds)
+            .publishOn(Schedulers.parallel())
+            .reduce(new HashMap<Long, ReplayState>(), (states, event) -> {
+                states.computeIfAbsent(event.getInventoryId(), id -> new ReplayState()).apply(event);
+                return states;
+            })
+            .map(states -> new ChunkResult(chunk, findMismatches(chunk, states)));
+    }
+
+    private List<ProjectionMismatch> findMismatches(List<Inventory> chunk, Map<Long, ReplayState> states) {
+        List<ProjectionMismatch> mismatches = new ArrayList<>();
+
+        for (Inventory inventory : chunk) {
+            ReplayState state = states.getOrDefault(inventory.getId(), ReplayState.EMPTY);
+            double current = inventory.getQuantity() != null ? inventory.getQuantity() : 0.0;
+
+            if (Quantities.subtract(current, state.projected) != 0) {
+                mismatches.add(ProjectionMismatch.builder()
+                    .inventoryId(inventory.getId())
+                    .warehouseId(inventory.getWarehouseId())
+                    .productId(inventory.getProductId())
+                    .currentQuantity(current)
+                    .projectedQuantity(state.projected)
+                    .lastRecordedQuantity(state.lastRecorded)
+                    .eventCount(state.eventCount)
+                    .chainBreaks(state.chainBreaks)
+                    .corrected(false)
+                    .build());
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * 구간 결과 반영 (REBUILD 모드면 교정) 후 checkpoint 갱신
+     * 이벤트가 하나도 없는 재고는 재생할 근거가 없으므로 보고만 하고 교정하지 않는다.
+     */
+    private Flux<ProjectionMismatch> applyChunk(String runId, Mode mode, ChunkResult result) {
+        List<ProjectionMismatch> correctable = mode == Mode.REBUILD
+            ? result.mismatches.stream().filter(mismatch -> mismatch.getEventCount() > 0).toList()
+            : List.of();
+
+        Mono<Set<Long>> corrected = correctable.isEmpty()
+            ? Mono.just(Set.of())
+            : correct(runId, correctable)
+                .map(rows -> rows.stream().map(Inventory::getId).collect(Collectors.toSet()));
+
+        Long lastInventoryId = result.chunk.get(result.chunk.size() - 1).getId();
+
+        return corrected.flatMapMany(correctedIds -> {
+            result.mismatches.forEach(mismatch -> mismatch.setCorrected(correctedIds.contains(mismatch.getInventoryId())));
+
+            return checkpointRepository.advance(runId, lastInventoryId,
+                    result.chunk.size(), result.mismatches.size(), correctedIds.size())
+                .thenMany(Flux.fromIterable(result.mismatches));
+        });
+    }
+
+    /**
+     * 수량 교정 + 교정 이벤트 기록 (하나의 트랜잭션)
+     * 조회 이후 수량이 바뀐 행은 교정되지 않으며, 커밋된 행만 변경 후처리로 넘긴다.
+     */
+    private Mono<List<Inventory>> correct(String runId, List<ProjectionMismatch> correctable) {
+        Map<Long, ProjectionMismatch> byId = correctable.stream()
+            .collect(Collectors.toMap(ProjectionMismatch::getInventoryId, Function.identity()));
+
+        return inventoryRepository.correctQuantities(
+                correctable.stream().map(ProjectionMismatch::getInventoryId).toArray(Long[]::new),
+                correctable.stream().map(ProjectionMismatch::getCurrentQuantity).toArray(Double[]::new),
+                correctable.stream().map(ProjectionMismatch::getProjectedQuantity).toArray(Double[]::new))
+            .collectList()
+            .flatMap(rows -> eventService.createEventsWithDetails(rows.stream()
+                    .map(row -> {
+                        ProjectionMismatch mismatch = byId.get(row.getId());
+                        return eventService.buildEventWithDetails(
+                            row.getId(),
+                            row.getProductId(),
+                            row.getWarehouseId(),
+                            InventoryEvent.EventType.STOCK_CORRECTED,
+                            mismatch.getCurrentQuantity(),
+                            row.getQuantity(),
+                            new EventMetadata.StockCorrected("이벤트 재생 교정", runId, mismatch.getChainBreaks()));
+                    })
+                    .toList())
+                .thenReturn(rows))
+            .as(transactionalOperator::transactional)
+            .doOnNext(rows -> rows.forEach(inventoryService::onInventoryChanged));
+    }
+
+    /**
+     * 재고 하나의 재생 상태
+     */
+    private static final class ReplayState {
+        private static final ReplayState EMPTY = new ReplayState();
+
+        private double projected;
+        private Double lastRecorded;
+        private long eventCount;
+        private long chainBreaks; // 직전 이벤트의 newQuantity 와 previousQuantity 가 다른 횟수 (교정 이벤트 제외)
+
+        /**
+         * 이벤트는 (timestamp, id) 순서로 들어온다
+         */
+        void apply(InventoryEvent event) {
+            if (event.getPreviousQuantity() == null || event.getNewQuantity() == null) {
+                return;
+            }
+            if (event.getEventType() == InventoryEvent.EventType.STOCK_CORRECTED) {
+                projected = event.getNewQuantity();
+            } else {
+                if (eventCount == 0) {
+                    projected = event.getPreviousQuantity(); // 남아 있는 첫 이벤트 직전 수량에서 시작
+                } else if (Quantities.subtract(event.getPreviousQuantity(), lastRecorded) != 0) {
+                    chainBreaks++;
+                }
+                projected = Quantities.add(projected, Quantities.subtract(event.getNewQuantity(), event.getPreviousQuantity()));
+            }
+            lastRecorded = event.getNewQuantity();
+            eventCount++;
+        }
+    }
+
+    private record ChunkResult(List<Inventory> chunk, List<ProjectionMismatch> mismatches) {
+    }
+
+    /**
+     * 현재 수량과 이벤트 재생 수량의 불일치
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ProjectionMismatch {
+        private Long inventoryId;
+        private Long warehouseId;
+        private Long productId;
+        private Double currentQuantity;
+        private Double projectedQuantity;
+        private Double lastRecordedQuantity;
+        private long eventCount;
+        private long chainBreaks;
+        private boolean corrected;
+    }
+}
@@ -18,6 +18,94 @@ public interface InventoryRepository extends ReactiveCrudRepository<Inventory, L
     // 특정 창고의 특정 상품 재고
     Mono<Inventory> findByWarehouseIdAndProductId(Long warehouseId, Long productId);
 
+    // 재고 행 생성 (이미 존재하면 아무것도 하지 않고 빈 결과 반환)
+    @Query("""
+        INSERT INTO inventory (warehouse_id, product_id, location, quantity, minimum_threshold, created_at, updated_at)
+        VALUES (:warehouseId, :productId, :location, 0, :minimumThreshold, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+        ON CONFLICT (warehouse_id, product_id) DO NOTHING
+        RETURNING *
+        """)
+    Mono<Inventory> insertIfAbsent(Long warehouseId, Long productId, String location, Double minimumThreshold);
+
+    // 재고 수량 원자적 증가 (조회-수정-저장 대신 단일 UPDATE)
+    @Query("""
+        UPDATE inventory
+        SET quantity = quantity + :quantity,
+            version = version + 1,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE id = :inventoryId
+        RETURNING *
+        """)
+    Mono<Inventory> incrementQuantity(Long inventoryId, Double quantity);
+
+    // 재고 수량 원자적 감소 (재고 부족 시 갱신되지 않고 빈 결과 반환)
+    @Query("""
+        UPDATE inventory
+        SET quantity = quantity - :quantity,
+            version = version + 1,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE id = :inventoryId
+        AND quantity >= :quantity
+        RETURNING *
+        """)
+    Mono<Inventory> decrementQuantityIfAvailable(Long inventoryId, Double quantity);
+
+    // 같은 재고의 증감 요청을 합산하여 1회 갱신 (요청 순서대로 적용했을 때 중간 수량이 음수가 되지 않는 경우에만)
+    @Query("""
+        UPDATE inventory
+        SET quantity = quantity + :netDelta,
+            version = version + 1,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE id = :inventoryId
+        AND quantity + :minPrefixDelta >= 0
+        RETURNING *
+        """)
+    Mono<Inventory> applyCoalescedDelta(Long inventoryId, Double netDelta, Double minPrefixDelta);
+
+    // 재고 수량 일괄 증감 (한 배치 내 inventoryId 는 중복되지 않아야 함)
+    @Query("""
+        UPDATE inventory i
+        SET quantity = i.quantity + d.delta,
+            version = i.version + 1,
+            updated_at = CURRENT_TIMESTAMP
+        FROM unnest(CAST(:inventoryIds AS BIGINT[]), CAST(:deltas AS NUMERIC[])) AS d(inventory_id, delta)
+        WHERE i.id = d.inventory_id
+        AND i.quantity + d.delta >= 0
+        RETURNING i.*
+        """)
+    Flux<Inventory> applyQuantityDeltas(Long[] inventoryIds, Double[] deltas);
+
+    // 재고 위치 변경 (수량은 건드리지 않음)
+    @Query("""
+        UPDATE inventory
+        SET location = :location,
+            version = version + 1,
+            updated_at = CURRENT_TIMESTAMP
+        WHERE id = :inventoryId
+        RETURNING *
+        """)
+    Mono<Inventory> updateLocation(Long inventoryId, String location);
+
+    // id 순 전체 재고 스트리밍 (이벤트 재생 시 checkpoint 이후부터)
+    @Query("SELECT * FROM inventory WHERE id > :afterId ORDER BY id")
+    Flux<Inventory> findAllAfterId(Long afterId);
+
+    // 이벤트 재생 결과로 수량 교정 (조회 이후 다른 변경이 없었던 행만)
+    @Query("""
+        UPDATE inventory i
+        SET quantity = u.projected_quantity,
+            version = i.version + 1,
+            updated_at = CURRENT_TIMESTAMP
+        FROM unnest(
+            CAST(:inventoryIds AS BIGINT[]),
+            CAST(:observedQuantities AS NUMERIC[]),
+            CAST(:projectedQuantities AS NUMERIC[])) AS u(inventory_id, observed_quantity, projected_quantity)
+        WHERE i.id = u.inventory_id
+        AND i.quantity = u.observed_quantity
+        RETURNING i.*
+        """)
+    Flux<Inventory> correctQuantities(Long[] inventoryIds, Double[] observedQuantities, Double[] projectedQuantities);
+
     // 임계값 이하 재고 조회 (자동 발주 대상)
     @Query("""
         SELECT * FROM inventory 
@@ -45,46 +133,6 @@ public interface InventoryRepository extends ReactiveCrudRepository<Inventory, L
         """)
     Flux<Inventory> findLowStockItemsByWarehouse(Long warehouseId);
 
-    // 재발주 필요 상품 조회 (애플리케이션에서 함수 역할 대체)
-    @Query("""
-        SELECT i.*, p.product_name, p.unit, p.price, p.supplier,
-               w.location as warehouse_location,
-               (i.minimum_threshold * 3 - i.quantity) as suggested_quantity,
-               ((i.minimum_threshold * 3 - i.quantity) * p.price) as estimated_cost
-        FROM inventory i
-        JOIN products p ON i.product_id = p.id
-        JOIN warehouses w ON i.warehouse_id = w.id
-        WHERE i.quantity <= i.minimum_threshold
-        AND i.minimum_threshold > 0
-        AND NOT EXISTS (
-            SELECT 1 FROM purchase_orders po 
-            WHERE po.product_id = i.product_id 
-            AND po.warehouse_id = i.warehouse_id
-            AND po.status IN ('PENDING', 'SENT', 'CONFIRMED', 'IN_TRANSIT')
-        )
-        ORDER BY (i.quantity / NULLIF(i.minimum_threshold, 1)) ASC
-        """)
-    Flux<Object[]> findItemsNeedReorder();
-
-    // 유통기한 임박 상품 상세 정보
-    @Query("""
-        SELECT i.*, p.product_name, p.unit, w.location as warehouse_location,
-               EXTRACT(DAY FROM (i.expiry_date - CURRENT_TIMESTAMP)) as days_until_expiry,
-               CASE 
-                   WHEN i.expiry_date <= CURRENT_TIMESTAMP + INTERVAL '2 days' THEN 'URGENT'
-                   WHEN i.expiry_date <= CURRENT_TIMESTAMP + INTERVAL '5 days' THEN 'HIGH'
-                   ELSE 'MEDIUM'
-               END as priority_level
-        FROM inventory i
-        JOIN products p ON i.product_id = p.id
-        JOIN warehouses w ON i.warehouse_id = w.id
-        WHERE i.expiry_date IS NOT NULL
-        AND i.expiry_date <= CURRENT_TIMESTAMP + INTERVAL '7 days'
-        AND i.quantity > 0
-        ORDER BY i.expiry_date ASC
-        """)
-    Flux<Object[]> findExpiringItemsWithDetails();
-
     // 재고 가치 계산
     @Query("""
         SELECT SUM(i.quantity * p.price) as total_value
@@ -93,18 +141,4 @@ public interface InventoryRepository extends ReactiveCrudRepository<Inventory, L
         """)
     Mono<Double> calculateTotalInventoryValue();
 
-    // 창고별 재고 통계
-    @Query("""
-        SELECT w.id, w.location,
-               COUNT(i.id) as total_items,
-               COUNT(CASE WHEN i.quantity <= i.minimum_threshold AND i.minimum_threshold > 0 THEN 1 END) as low_stock_items,
-               COUNT(CASE WHEN i.quantity <= i.minimum_threshold * 0.5 AND i.minimum_threshold > 0 THEN 1 END) as critical_stock_items,
-               COALESCE(SUM(i.quantity * p.price), 0) as total_value
-        FROM warehouses w
-        LEFT JOIN inventory i ON w.id = i.warehouse_id
-        LEFT JOIN products p ON i.product_id = p.id
-        GROUP BY w.id, w.location
-        ORDER BY w.id
-        """)
-    Flux<Object[]> getWarehouseStatistics();
 }
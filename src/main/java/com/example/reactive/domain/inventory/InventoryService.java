@@ -1,14 +1,33 @@
 package com.example.reactive.domain.inventory;
 
+import com.example.reactive.domain.inventory_event.EventMetadata;
 import com.example.reactive.domain.inventory_event.InventoryEvent;
 import com.example.reactive.domain.inventory_event.InventoryEventService;
+import com.example.reactive.global.util.Quantities;
+import com.example.reactive.global.util.SingleFlight;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import java.time.LocalDateTime;
+import reactor.util.function.Tuples;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @Slf4j
@@ -18,135 +37,341 @@ public class InventoryService {
 
     private final InventoryRepository inventoryRepository;
     private final InventoryEventService eventService;
+    private final TransactionalOperator transactionalOperator;
+    private final InventoryWriteSequencer writeSequencer;
+    private final InventoryCache inventoryCache;
+    private final WarehouseStatisticsService warehouseStatisticsService;
+    private final InventoryValuationService valuationService;
+    private final ExpiryAlertTracker expiryAlertTracker;
+    private final ThresholdCrossingDetector thresholdDetector;
+    private final SingleFlight<WarehouseProductKey, Inventory> findOrCreateFlight = new SingleFlight<>();
+    // 재고별 마지막으로 반영한 행 version (늦게 도착하는 완료 콜백은 길어야 수 초 차이이므로 한동안 변경이 없던 재고는 잊는다)
+    private final Cache<Long, Long> publishedVersions = Caffeine.newBuilder()
+        .expireAfterAccess(Duration.ofMinutes(10))
+        .build();
+
+    @Value("${inventory.sequencer.enabled:false}")
+    private boolean sequencerEnabled;
+
+    @Value("${inventory.bulk-adjust.batch-size:200}")
+    private int bulkBatchSize;
+
+    @Value("${inventory.bulk-adjust.batch-window-ms:50}")
+    private long bulkBatchWindowMs;
 
     /**
      * 재고 찾기 또는 생성 (발주 납품 시 사용)
+     * 캐시 → DB → 생성 순으로 조회하며, 같은 (창고, 상품)에 대한 동시 요청은 하나의 조회/생성을 공유한다.
      */
     public Mono<Inventory> findOrCreateInventory(Long warehouseId, Long productId) {
-        return inventoryRepository.findByWarehouseIdAndProductId(warehouseId, productId)
-            .switchIfEmpty(createNewInventory(warehouseId, productId));
+        return Mono.justOrEmpty(inventoryCache.get(warehouseId, productId))
+            .switchIfEmpty(findOrCreateFlight.execute(new WarehouseProductKey(warehouseId, productId),
+                () -> inventoryRepository.findByWarehouseIdAndProductId(warehouseId, productId)
+                    .doOnNext(inventoryCache::put)
+                    .switchIfEmpty(Mono.defer(() -> createNewInventory(warehouseId, productId)))));
     }
 
     /**
      * 새 재고 아이템 생성
+     * INSERT ... ON CONFLICT DO NOTHING 으로 생성하고, 다른 요청이 먼저 생성한 경우 기존 행을 조회한다.
      */
     private Mono<Inventory> createNewInventory(Long warehouseId, Long productId) {
-        Inventory newInventory = Inventory.builder()
-            .warehouseId(warehouseId)
-            .productId(productId)
-            .location("미지정")
-            .quantity(0.0)
-            .minimumThreshold(10.0) // 기본 임계값
-            .createdAt(LocalDateTime.now())
-            .updatedAt(LocalDateTime.now())
-            .build();
-
-        return inventoryRepository.save(newInventory)
+        return inventoryRepository.insertIfAbsent(warehouseId, productId, "미지정", 10.0) // 기본 임계값
             .doOnNext(inventory -> log.info("새 재고 아이템 생성: 창고={}, 상품={}",
-                warehouseId, productId));
+                warehouseId, productId))
+            .switchIfEmpty(Mono.defer(() -> inventoryRepository.findByWarehouseIdAndProductId(warehouseId, productId)))
+            .doOnNext(this::onInventoryChanged);
+    }
+
+    private record WarehouseProductKey(Long warehouseId, Long productId) {
     }
 
     /**
      * 재고 입고 처리
+     * 시퀀서가 활성화된 경우 재고별 레인에서 순서대로 처리되며, 연속된 증감은 한 번의 UPDATE 로 합쳐진다.
      */
-    @Transactional
     public Mono<Inventory> addStock(Long inventoryId, Double quantity, String reason) {
-        return inventoryRepository.findById(inventoryId)
-            .flatMap(inventory -> {
-                Double previousQuantity = inventory.getQuantity();
-                Double newQuantity = previousQuantity + quantity;
-
-                inventory.setQuantity(newQuantity);
-                inventory.setUpdatedAt(LocalDateTime.now());
-
-                return inventoryRepository.save(inventory)
-                    .flatMap(savedInventory -> {
-                        String metadata = String.format("{\"reason\": \"%s\", \"addedQuantity\": %.2f}",
-                            reason, quantity);
-
-                        return eventService.createEventWithDetails(
-                            inventoryId,
-                            inventory.getProductId(),
-                            inventory.getWarehouseId(),
-                            InventoryEvent.EventType.STOCK_ADDED,
-                            previousQuantity,
-                            newQuantity,
-                            metadata
-                        ).then(Mono.just(savedInventory));
-                    });
-            });
+        EventMetadata metadata = new EventMetadata.StockAdded(reason, quantity, null);
+
+        Mono<Inventory> result = sequencerEnabled
+            ? writeSequencer.submitDelta(inventoryId, quantity, InventoryEvent.EventType.STOCK_ADDED, metadata,
+                () -> applyAddStock(inventoryId, quantity, metadata))
+            : applyAddStock(inventoryId, quantity, metadata);
+
+        return result.doOnNext(this::onInventoryChanged);
+    }
+
+    /**
+     * 재고 입고 반영
+     * 단일 UPDATE ... RETURNING 으로 수량을 증가시키고, 반환된 행에서 이전/이후 수량을 계산한다.
+     */
+    private Mono<Inventory> applyAddStock(Long inventoryId, Double quantity, EventMetadata metadata) {
+        return inventoryRepository.incrementQuantity(inventoryId, quantity)
+            .flatMap(savedInventory -> {
+                Double newQuantity = savedInventory.getQuantity();
+                Double previousQuantity = Quantities.subtract(newQuantity, quantity);
+
+                return eventService.createEventWithDetails(
+                    inventoryId,
+                    savedInventory.getProductId(),
+                    savedInventory.getWarehouseId(),
+                    InventoryEvent.EventType.STOCK_ADDED,
+                    previousQuantity,
+                    newQuantity,
+                    metadata
+                ).then(Mono.just(savedInventory));
+            })
+            .as(transactionalOperator::transactional);
     }
 
     /**
      * 재고 출고 처리
      */
-    @Transactional
     public Mono<Inventory> removeStock(Long inventoryId, Double quantity, String reason) {
+        EventMetadata metadata = new EventMetadata.StockRemoved(reason, quantity, null);
+
+        Mono<Inventory> result = sequencerEnabled
+            ? writeSequencer.submitDelta(inventoryId, -quantity, InventoryEvent.EventType.STOCK_REMOVED, metadata,
+                () -> applyRemoveStock(inventoryId, quantity, metadata))
+            : applyRemoveStock(inventoryId, quantity, metadata);
+
+        return result
+            .doOnNext(this::onInventoryChanged)
+            .doOnNext(inventory -> thresholdDetector.onQuantityChanged(inventory, Quantities.add(inventory.getQuantity(), quantity)));
+    }
+
+    /**
+     * 재고 출고 반영
+     * 재고 부족 여부는 UPDATE 의 WHERE 조건(quantity >= :quantity)으로 데이터베이스에서 판단한다.
+     */
+    private Mono<Inventory> applyRemoveStock(Long inventoryId, Double quantity, EventMetadata metadata) {
+        return inventoryRepository.decrementQuantityIfAvailable(inventoryId, quantity)
+            .flatMap(savedInventory -> {
+                Double newQuantity = savedInventory.getQuantity();
+                Double previousQuantity = Quantities.add(newQuantity, quantity);
+
+                return eventService.createEventWithDetails(
+                    inventoryId,
+                    savedInventory.getProductId(),
+                    savedInventory.getWarehouseId(),
+                    InventoryEvent.EventType.STOCK_REMOVED,
+                    previousQuantity,
+                    newQuantity,
+                    metadata
+                ).then(Mono.just(savedInventory));
+            })
+            .as(transactionalOperator::transactional)
+            .switchIfEmpty(Mono.defer(() -> insufficientStock(inventoryId, quantity)));
+    }
+
+    /**
+     * 출고 UPDATE 가 갱신한 행이 없을 때 원인 판별 (재고 없음 / 재고 부족)
+     */
+    private Mono<Inventory> insufficientStock(Long inventoryId, Double quantity) {
         return inventoryRepository.findById(inventoryId)
-            .flatMap(inventory -> {
-                Double previousQuantity = inventory.getQuantity();
-                Double newQuantity = previousQuantity - quantity;
-
-                if (newQuantity < 0) {
-                    return Mono.error(new IllegalArgumentException("재고가 부족합니다. 현재 재고: " + previousQuantity + ", 요청 수량: " + quantity));
-                }
-
-                inventory.setQuantity(newQuantity);
-                inventory.setUpdatedAt(LocalDateTime.now());
-
-                return inventoryRepository.save(inventory)
-                    .flatMap(savedInventory -> {
-                        String metadata = String.format("{\"reason\": \"%s\", \"removedQuantity\": %.2f}",
-                            reason, quantity);
-
-                        return eventService.createEventWithDetails(
-                            inventoryId,
-                            inventory.getProductId(),
-                            inventory.getWarehouseId(),
-                            InventoryEvent.EventType.STOCK_REMOVED,
-                            previousQuantity,
-                            newQuantity,
-                            metadata
-                        ).then(Mono.just(savedInventory));
-                    });
+            .flatMap(inventory -> Mono.error(new IllegalArgumentException(
+                "재고가 부족합니다. 현재 재고: " + inventory.getQuantity() + ", 요청 수량: " + quantity)));
+    }
+
+    /**
+     * 재고 일괄 증감 처리
+     * 요청 스트림을 크기/시간 기준으로 배치로 묶어 배치마다 UPDATE 1회 + 이벤트 INSERT 1회로 처리한다.
+     * 결과는 요청 순서대로 항목별 성공/실패로 반환된다.
+     */
+    public Flux<StockAdjustmentResult> bulkAdjust(Flux<StockAdjustmentRequest> adjustments) {
+        return adjustments
+            .bufferTimeout(bulkBatchSize, Duration.ofMillis(bulkBatchWindowMs))
+            .concatMap(batch -> Flux.fromIterable(splitByDistinctInventory(batch))
+                .concatMap(this::adjustStockBatch));
+    }
+
+    /**
+     * 한 UPDATE 문에서 같은 재고 행이 두 번 갱신되지 않도록 inventoryId 가 중복되는 지점에서 배치를 나눈다.
+     */
+    private List<List<StockAdjustmentRequest>> splitByDistinctInventory(List<StockAdjustmentRequest> batch) {
+        List<List<StockAdjustmentRequest>> chunks = new ArrayList<>();
+        List<StockAdjustmentRequest> current = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+
+        for (StockAdjustmentRequest request : batch) {
+            if (request.getInventoryId() != null && !seen.add(request.getInventoryId())) {
+                chunks.add(current);
+                current = new ArrayList<>();
+                seen.clear();
+                seen.add(request.getInventoryId());
+            }
+            current.add(request);
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    /**
+     * inventoryId 가 중복되지 않는 단일 배치 처리 (하나의 트랜잭션)
+     */
+    private Flux<StockAdjustmentResult> adjustStockBatch(List<StockAdjustmentRequest> batch) {
+        List<StockAdjustmentRequest> valid = batch.stream()
+            .filter(this::isValidAdjustment)
+            .toList();
+
+        Long[] inventoryIds = valid.stream().map(StockAdjustmentRequest::getInventoryId).toArray(Long[]::new);
+        Double[] deltas = valid.stream().map(StockAdjustmentRequest::signedQuantity).toArray(Double[]::new);
+
+        Mono<Map<Long, Inventory>> updated = valid.isEmpty()
+            ? Mono.just(Map.of())
+            : inventoryRepository.applyQuantityDeltas(inventoryIds, deltas)
+                .collectMap(Inventory::getId, Function.identity());
+
+        return updated
+            .flatMap(updatedById -> eventService.createEventsWithDetails(buildAdjustmentEvents(valid, updatedById))
+                .then(resolveFailures(valid, updatedById))
+                .map(failures -> Tuples.of(updatedById.values(), toResults(batch, updatedById, failures))))
+            .as(transactionalOperator::transactional)
+            .doOnNext(committed -> {
+                committed.getT1().forEach(this::onInventoryChanged);
+                detectThresholdCrossings(valid, committed.getT1());
+            })
+            .flatMapMany(committed -> Flux.fromIterable(committed.getT2()))
+            .onErrorResume(error -> {
+                log.error("재고 일괄 처리 배치 실패: {}건", batch.size(), error);
+                return Flux.fromIterable(batch)
+                    .map(request -> StockAdjustmentResult.failure(request, "배치 처리 실패: " + error.getMessage()));
+            });
+    }
+
+    /**
+     * 출고 항목의 임계값 하향 돌파 감지 (배치 내 inventoryId 는 중복되지 않음)
+     */
+    private void detectThresholdCrossings(List<StockAdjustmentRequest> valid, Collection<Inventory> updated) {
+        Map<Long, Double> deltas = valid.stream()
+            .filter(request -> request.getType() == StockAdjustmentRequest.AdjustmentType.REMOVE)
+            .collect(Collectors.toMap(StockAdjustmentRequest::getInventoryId, StockAdjustmentRequest::signedQuantity));
+        for (Inventory inventory : updated) {
+            Double delta = deltas.get(inventory.getId());
+            if (delta != null) {
+                thresholdDetector.onQuantityChanged(inventory, Quantities.subtract(inventory.getQuantity(), delta));
+            }
+        }
+    }
+
+    private boolean isValidAdjustment(StockAdjustmentRequest request) {
+        return request.getInventoryId() != null
+            && request.getType() != null
+            && request.getQuantity() != null
+            && request.getQuantity() > 0;
+    }
+
+    private List<InventoryEvent> buildAdjustmentEvents(
+        List<StockAdjustmentRequest> valid, Map<Long, Inventory> updatedById) {
+
+        List<InventoryEvent> events = new ArrayList<>();
+        for (StockAdjustmentRequest request : valid) {
+            Inventory inventory = updatedById.get(request.getInventoryId());
+            if (inventory == null) {
+                continue;
+            }
+
+            boolean add = request.getType() == StockAdjustmentRequest.AdjustmentType.ADD;
+            Double newQuantity = inventory.getQuantity();
+            Double previousQuantity = Quantities.subtract(newQuantity, request.signedQuantity());
+            String reason = request.getReason() != null ? request.getReason() : (add ? "수동 입고" : "수동 출고");
+            EventMetadata metadata = add
+                ? new EventMetadata.StockAdded(reason, request.getQuantity(), null)
+                : new EventMetadata.StockRemoved(reason, request.getQuantity(), null);
+
+            events.add(eventService.buildEventWithDetails(
+                inventory.getId(),
+                inventory.getProductId(),
+                inventory.getWarehouseId(),
+                add ? InventoryEvent.EventType.STOCK_ADDED : InventoryEvent.EventType.STOCK_REMOVED,
+                previousQuantity,
+                newQuantity,
+                metadata
+            ));
+        }
+        return events;
+    }
+
+    /**
+     * 갱신되지 않은 항목의 실패 사유 조회 (재고 없음 / 재고 부족)
+     */
+    private Mono<Map<Long, String>> resolveFailures(List<StockAdjustmentRequest> valid, Map<Long, Inventory> updatedById) {
+        Map<Long, StockAdjustmentRequest> failed = valid.stream()
+            .filter(request -> !updatedById.containsKey(request.getInventoryId()))
+            .collect(Collectors.toMap(StockAdjustmentRequest::getInventoryId, Function.identity()));
+
+        if (failed.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+
+        return inventoryRepository.findAllById(failed.keySet())
+            .collectMap(Inventory::getId, inventory -> "재고가 부족합니다. 현재 재고: " + inventory.getQuantity()
+                + ", 요청 수량: " + failed.get(inventory.getId()).getQuantity())
+            .map(reasons -> {
+                Map<Long, String> result = new HashMap<>(reasons);
+                failed.keySet().forEach(id -> result.putIfAbsent(id, "재고를 찾을 수 없습니다. ID: " + id));
+                return result;
             });
     }
 
+    private List<StockAdjustmentResult> toResults(
+        List<StockAdjustmentRequest> batch, Map<Long, Inventory> updatedById, Map<Long, String> failures) {
+
+        List<StockAdjustmentResult> results = new ArrayList<>(batch.size());
+        for (StockAdjustmentRequest request : batch) {
+            if (!isValidAdjustment(request)) {
+                results.add(StockAdjustmentResult.failure(request, "잘못된 요청입니다. inventoryId, type, quantity(> 0) 는 필수입니다."));
+            } else if (updatedById.containsKey(request.getInventoryId())) {
+                results.add(StockAdjustmentResult.success(request, updatedById.get(request.getInventoryId()).getQuantity()));
+            } else {
+                results.add(StockAdjustmentResult.failure(request, failures.get(request.getInventoryId())));
+            }
+        }
+        return results;
+    }
+
     /**
      * 재고 이동 처리
      */
-    @Transactional
     public Mono<Inventory> moveStock(Long inventoryId, String newLocation, String reason) {
+        Mono<Inventory> result = sequencerEnabled
+            ? writeSequencer.submit(inventoryId, () -> applyMoveStock(inventoryId, newLocation, reason))
+            : applyMoveStock(inventoryId, newLocation, reason);
+
+        return result.doOnNext(this::onInventoryChanged);
+    }
+
+    /**
+     * 재고 이동 반영
+     * 위치만 UPDATE 하므로 동시에 커밋된 수량 변경을 덮어쓰지 않는다.
+     */
+    private Mono<Inventory> applyMoveStock(Long inventoryId, String newLocation, String reason) {
         return inventoryRepository.findById(inventoryId)
-            .flatMap(inventory -> {
-                String oldLocation = inventory.getLocation();
-                inventory.setLocation(newLocation);
-                inventory.setUpdatedAt(LocalDateTime.now());
-
-                return inventoryRepository.save(inventory)
-                    .flatMap(savedInventory -> {
-                        String metadata = String.format(
-                            "{\"reason\": \"%s\", \"oldLocation\": \"%s\", \"newLocation\": \"%s\"}",
-                            reason, oldLocation, newLocation);
-
-                        return eventService.createEventWithDetails(
-                            inventoryId,
-                            inventory.getProductId(),
-                            inventory.getWarehouseId(),
-                            InventoryEvent.EventType.STOCK_MOVED,
-                            inventory.getQuantity(),
-                            inventory.getQuantity(),
-                            metadata
-                        ).then(Mono.just(savedInventory));
-                    });
-            });
+            .flatMap(inventory -> inventoryRepository.updateLocation(inventoryId, newLocation)
+                .flatMap(savedInventory -> {
+                    EventMetadata metadata = new EventMetadata.StockMoved(reason, inventory.getLocation(), newLocation);
+
+                    return eventService.createEventWithDetails(
+                        inventoryId,
+                        savedInventory.getProductId(),
+                        savedInventory.getWarehouseId(),
+                        InventoryEvent.EventType.STOCK_MOVED,
+                        savedInventory.getQuantity(),
+                        savedInventory.getQuantity(),
+                        metadata
+                    ).then(Mono.just(savedInventory));
+                }))
+            .as(transactionalOperator::transactional);
     }
 
     /**
      * 창고별 재고 현황 조회
      */
     public Flux<Inventory> getWarehouseInventory(Long warehouseId) {
-        return inventoryRepository.findByWarehouseId(warehouseId);
+        return inventoryRepository.findByWarehouseId(warehouseId)
+            .doOnNext(inventoryCache::put);
     }
 
     /**
@@ -155,4 +380,55 @@ public class InventoryService {
     public Flux<Inventory> getLowStockItems() {
         return inventoryRepository.findLowStockItems();
     }
+
+    /**
+     * 재고 변경 후처리 (커밋된 행 기준, 호출 스레드에서 동기 실행)
+     * 완료 콜백은 커밋 순서와 다르게 도착할 수 있으므로 행 version 이 이미 반영한 것보다 새로울 때만 반영하고,
+     * 병합된 증감의 중간 상태(version 없음)는 건너뛴다. version 확인/기록만 잠금 안에서 하고 반영은 잠금 밖에서 하므로,
+     * 반영 대상들(캐시, 창고 통계, 재고 가치)은 각자 version 으로 순서를 다시 확인하고, 유통기한 추적은 알림 직전에 DB 행을 다시 확인한다.
+     * 이 서비스를 거치지 않고 재고 행을 변경하는 작업(이벤트 재생 교정)도 커밋 후 이 메서드로 반영한다.
+     */
+    void onInventoryChanged(Inventory inventory) {
+        if (inventory.getId() == null || inventory.getVersion() == null) {
+            return;
+        }
+        boolean[] newer = new boolean[1];
+        publishedVersions.asMap().compute(inventory.getId(), (inventoryId, published) -> {
+            if (published != null && published >= inventory.getVersion()) {
+                return published;
+            }
+            newer[0] = true;
+            return inventory.getVersion();
+        });
+        if (!newer[0]) {
+            return;
+        }
+        inventoryCache.put(inventory);
+        warehouseStatisticsService.onInventoryChanged(inventory);
+        valuationService.onInventoryChanged(inventory);
+        expiryAlertTracker.track(inventory);
+    }
+
+    // 결과 클래스
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class StockAdjustmentResult {
+        private Long inventoryId;
+        private StockAdjustmentRequest.AdjustmentType type;
+        private Double quantity;
+        private boolean success;
+        private Double newQuantity;
+        private String error;
+
+        static StockAdjustmentResult success(StockAdjustmentRequest request, Double newQuantity) {
+            return new StockAdjustmentResult(request.getInventoryId(), request.getType(), request.getQuantity(),
+                true, newQuantity, null);
+        }
+
+        static StockAdjustmentResult failure(StockAdjustmentRequest request, String error) {
+            return new StockAdjustmentResult(request.getInventoryId(), request.getType(), request.getQuantity(),
+                false, null, error);
+        }
+    }
 }
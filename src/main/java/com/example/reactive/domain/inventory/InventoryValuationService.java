@@ -0,0 +1,347 @@
+package com.example.reactive.domain.inventory;
+
+import com.example.reactive.global.util.Rows;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 재고 가치 (메모리 누적 합계)
+ * 수량은 0.01 단위, 가격은 0.01 단위 정수로 바꿔 곱하므로 가치는 0.0001 단위 long 으로 누적된다 (DECIMAL(10,2) 두 값의 곱과 정확히 같다).
+ * 표현 가능한 합계는 약 9.2 × 10^14 이다.
+ * 수량/가격/카테고리 변경 시 해당 재고 항목의 가치 차이만 전체·창고별·카테고리별 합계에 더한다 (항목 단위 교체와 재적재 중 변경 처리는 InventoryItemAggregate 를 따른다).
+ * 검증은 창고 단위로 나눠 DB 에서 병렬로 다시 합산해 메모리 합계와 비교하며, 요청 시 전체를 다시 적재한다.
+ */
+@Slf4j
+@Service
+public class InventoryValuationService {
+
+    // 가치 단위 (0.01 수량 × 0.01 가격)
+    private static final int VALUE_SCALE = 4;
+    private static final String UNCATEGORIZED = "미분류";
+
+    private final DatabaseClient databaseClient;
+    private final int verifyParallelism;
+
+    @Value("${inventory.startup-load.enabled:true}")
+    private boolean startupLoadEnabled;
+
+    private final InventoryItemAggregate.Holder<ProductState, State> holder = new InventoryItemAggregate.Holder<>(new State());
+    private volatile boolean loaded;
+
+    public InventoryValuationService(
+        DatabaseClient databaseClient,
+        @Value("${inventory.valuation.verify-parallelism:4}") int verifyParallelism) {
+
+        this.databaseClient = databaseClient;
+        this.verifyParallelism = verifyParallelism;
+    }
+
+    /**
+     * 시작 시 전체 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!startupLoadEnabled) {
+            return;
+        }
+        rebuild()
+            .doOnError(error -> log.error("재고 가치 적재 실패", error))
+            .subscribe();
+    }
+
+    /**
+     * 적재 완료 여부 (완료 전에는 메모리 합계를 쓰지 않는다)
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 전체 재고 가치
+     */
+    public BigDecimal getTotalValue() {
+        return toAmount(holder.current().total.sum());
+    }
+
+    /**
+     * 전체 / 창고별 / 카테고리별 재고 가치
+     */
+    public Valuation getValuation() {
+        State current = holder.current();
+        Map<Long, BigDecimal> byWarehouse = new TreeMap<>();
+        current.byWarehouse.forEach((warehouseId, units) -> byWarehouse.put(warehouseId, toAmount(units.sum())));
+        Map<String, BigDecimal> byCategory = new TreeMap<>();
+        current.byCategory.forEach((category, units) -> byCategory.put(category, toAmount(units.sum())));
+
+        return Valuation.builder()
+            .totalValue(toAmount(current.total.sum()))
+            .byWarehouse(byWarehouse)
+            .byCategory(byCategory)
+            .build();
+    }
+
+    /**
+     * 재고 수량 변경 반영 (커밋된 행 기준)
+     */
+    public void onInventoryChanged(Inventory inventory) {
+        if (inventory.getId() == null) {
+            return;
+        }
+        holder.onInventoryChanged(inventory);
+    }
+
+    /**
+     * 상품 가격/카테고리 변경 반영
+     */
+    public void onProductChanged(Long productId, Double price, String category) {
+        if (productId == null) {
+            return;
+        }
+        holder.onProductChanged(productId, ProductState.of(price, category));
+    }
+
+    /**
+     * DB 에서 전체 다시 적재 후 교체
+     */
+    public Mono<Void> rebuild() {
+        return holder.rebuild(new State(), this::loadInto)
+            .doOnNext(next -> {
+                loaded = true;
+                log.info("재고 가치 적재 완료: 재고 {}건, 합계={}", next.size(), toAmount(next.total.sum()));
+            })
+            .then();
+    }
+
+    private Mono<Void> loadInto(State next) {
+        return databaseClient.sql("""
+                SELECT i.id, i.warehouse_id, i.product_id, i.quantity, i.version, p.price, p.category
+                FROM inventory i
+                LEFT JOIN products p ON i.product_id = p.id
+                """)
+            .map(row -> {
+                Long productId = Rows.getLong(row, "product_id");
+                next.putProduct(productId, ProductState.of(Rows.getDouble(row, "price"), Rows.getString(row, "category")));
+                Inventory inventory = Inventory.builder()
+                    .id(Rows.getLong(row, "id"))
+                    .warehouseId(Rows.getLong(row, "warehouse_id"))
+                    .productId(productId)
+                    .quantity(Rows.getDouble(row, "quantity"))
+                    .version(Rows.getLong(row, "version"))
+                    .build();
+                next.apply(inventory);
+                return inventory.getId();
+            })
+            .all()
+            .then();
+    }
+
+    /**
+     * 창고 단위 병렬 재계산으로 메모리 합계 검증 (correct 면 불일치 시 다시 적재)
+     * 검증 중에 들어온 변경은 불일치로 보일 수 있다.
+     */
+    public Mono<Verification> verify(boolean correct) {
+        State current = holder.current();
+
+        Flux<Long> warehouseIds = databaseClient.sql("SELECT id FROM warehouses")
+            .map(row -> Rows.getLong(row, "id"))
+            .all()
+            .concatWith(Flux.fromIterable(current.byWarehouse.keySet()))
+            .distinct();
+
+        return warehouseIds
+            .flatMap(warehouseId -> databaseClient.sql("""
+                    SELECT COALESCE(p.category, :uncategorized) AS category,
+                           CAST(SUM(ROUND(i.quantity * 100) * ROUND(COALESCE(p.price, 0) * 100)) AS BIGINT) AS value_units
+                    FROM inventory i
+                    LEFT JOIN products p ON i.product_id = p.id
+                    WHERE i.warehouse_id = :warehouseId
+                    GROUP BY 1
+                    """)
+                .bind("uncategorized", UNCATEGORIZED)
+                .bind("warehouseId", warehouseId)
+                .map(row -> Map.entry(Rows.getString(row, "category"), Rows.getLong(row, "value_units")))
+                .all()
+                .collectList()
+                .map(categories -> new WarehouseRecount(warehouseId, categories)), verifyParallelism)
+            .collectList()
+            .map(recounts -> compare(current, recounts))
+            .flatMap(verification -> {
+                if (verification.getMismatches().isEmpty()) {
+                    log.info("재고 가치 검증 일치: 창고 {}개", verification.getCheckedWarehouses());
+                    return Mono.just(verification);
+                }
+                log.warn("재고 가치 검증 불일치 {}건: {}", verification.getMismatches().size(), verification.getMismatches());
+                if (!correct) {
+                    return Mono.just(verification);
+                }
+                verification.setCorrected(true);
+                return rebuild().thenReturn(verification);
+            });
+    }
+
+    private Verification compare(State current, List<WarehouseRecount> recounts) {
+        List<Mismatch> mismatches = new ArrayList<>();
+        Map<String, Long> categoryTotals = new HashMap<>();
+        long total = 0;
+
+        for (WarehouseRecount recount : recounts) {
+            long warehouseTotal = 0;
+            for (Map.Entry<String, Long> category : recount.categories()) {
+                long units = category.getValue() != null ? category.getValue() : 0L;
+                warehouseTotal += units;
+                categoryTotals.merge(category.getKey(), units, Long::sum);
+            }
+            total += warehouseTotal;
+            LongAdder memory = current.byWarehouse.get(recount.warehouseId());
+            addIfDifferent(mismatches, "WAREHOUSE", String.valueOf(recount.warehouseId()),
+                warehouseTotal, memory != null ? memory.sum() : 0L);
+        }
+
+        Set<String> categories = new HashSet<>(categoryTotals.keySet());
+        categories.addAll(current.byCategory.keySet());
+        for (String category : categories) {
+            LongAdder memory = current.byCategory.get(category);
+            addIfDifferent(mismatches, "CATEGORY", category,
+                categoryTotals.getOrDefault(category, 0L), memory != null ? memory.sum() : 0L);
+        }
+        addIfDifferent(mismatches, "TOTAL", "ALL", total, current.total.sum());
+
+        return Verification.builder()
+            .checkedWarehouses(recounts.size())
+            .mismatches(mismatches)
+            .corrected(false)
+            .build();
+    }
+
+    private void addIfDifferent(List<Mismatch> mismatches, String scope, String key, long expected, long actual) {
+        if (expected != actual) {
+            mismatches.add(new Mismatch(scope, key, toAmount(expected), toAmount(actual)));
+        }
+    }
+
+    private static BigDecimal toAmount(long units) {
+        return BigDecimal.valueOf(units, VALUE_SCALE);
+    }
+
+    /**
+     * 0.01 단위 정수 변환 (DECIMAL(10,2) 값이므로 반올림 오차 없음)
+     */
+    private static long toHundredths(Double value) {
+        return value != null ? Math.round(value * 100) : 0L;
+    }
+
+    private record WarehouseRecount(Long warehouseId, List<Map.Entry<String, Long>> categories) {
+    }
+
+    /**
+     * 상품 가격(0.01 단위)과 카테고리
+     */
+    private record ProductState(long priceHundredths, String category) {
+
+        static ProductState of(Double price, String category) {
+            return new ProductState(toHundredths(price), category != null ? category : UNCATEGORIZED);
+        }
+    }
+
+    /**
+     * 재고 항목 하나의 마지막 반영 상태
+     */
+    private record ItemState(long warehouseId, long quantityHundredths, String category, long valueUnits) {
+
+        static ItemState of(long warehouseId, long quantityHundredths, ProductState product) {
+            return new ItemState(warehouseId, quantityHundredths, product.category(),
+                quantityHundredths * product.priceHundredths());
+        }
+    }
+
+    /**
+     * 전체 누적 상태
+     */
+    private static final class State extends InventoryItemAggregate<ProductState, ItemState> {
+        private final LongAdder total = new LongAdder();
+        private final Map<Long, LongAdder> byWarehouse = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> byCategory = new ConcurrentHashMap<>();
+
+        @Override
+        protected ProductState unknownProduct() {
+            return ProductState.of(null, null);
+        }
+
+        @Override
+        protected ItemState itemOf(Inventory inventory, ProductState product) {
+            return ItemState.of(inventory.getWarehouseId(), toHundredths(inventory.getQuantity()), product);
+        }
+
+        @Override
+        protected ItemState withProduct(ItemState item, ProductState product) {
+            return ItemState.of(item.warehouseId(), item.quantityHundredths(), product);
+        }
+
+        @Override
+        protected void add(ItemState item, int sign) {
+            long units = sign * item.valueUnits();
+            total.add(units);
+            byWarehouse.computeIfAbsent(item.warehouseId(), id -> new LongAdder()).add(units);
+            byCategory.computeIfAbsent(item.category(), id -> new LongAdder()).add(units);
+        }
+    }
+
+    /**
+     * 재고 가치 (전체 / 창고별 / 카테고리별)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Valuation {
+        private BigDecimal totalValue;
+        private Map<Long, BigDecimal> byWarehouse;
+        private Map<String, BigDecimal> byCategory;
+    }
+
+    /**
+     * 검증 결과
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Verification {
+        private int checkedWarehouses;
+        private List<Mismatch> mismatches;
+        private boolean corrected; // 불일치로 다시 적재했는지 여부
+    }
+
+    /**
+     * 검증 불일치 (scope = WAREHOUSE / CATEGORY / TOTAL, expected = DB 재계산, actual = 메모리)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Mismatch {
+        private String scope;
+        private String key;
+        private BigDecimal expected;
+        private BigDecimal actual;
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.reactive.domain.inventory;
+
+import com.example.reactive.domain.inventory_event.EventMetadata;
+import com.example.reactive.domain.inventory_event.InventoryEvent;
+import com.example.reactive.domain.inventory_event.InventoryEventService;
+import com.example.reactive.global.util.Quantities;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 재고별 단일 writer 시퀀서
+ * inventoryId 를 해시하여 N 개의 레인 중 하나에 배정하고, 레인마다 한 번에 하나의 작업만 실행한다.
+ * 한 번에 꺼낸 작업 중 같은 재고에 대한 증감 요청은 한 번의 UPDATE 로 합쳐 반영하고, 호출자별 Mono 는 각자의 결과로 완료된다.
+ * 합쳐진 경우 마지막 호출자만 커밋된 행(version 포함)을 받고, 앞선 호출자는 version 이 없는 중간 상태를 받는다.
+ */
+@Slf4j
+@Component
+public class InventoryWriteSequencer {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryEventService eventService;
+    private final TransactionalOperator transactionalOperator;
+
+    private final Lane[] lanes;
+    private final int queueCapacity;
+    private final int maxDrainSize;
+
+    private final Counter rejectedCounter;
+    private final Counter coalescedWriteCounter;
+    private final Counter coalescedOperationCounter;
+
+    public InventoryWriteSequencer(
+        InventoryRepository inventoryRepository,
+        InventoryEventService eventService,
+        TransactionalOperator transactionalOperator,
+        MeterRegistry meterRegistry,
+        @Value("${inventory.sequencer.lanes:16}") int laneCount,
+        @Value("${inventory.sequencer.queue-capacity:1024}") int queueCapacity,
+        @Value("${inventory.sequencer.max-drain-size:64}") int maxDrainSize) {
+
+        this.inventoryRepository = inventoryRepository;
+        this.eventService = eventService;
+        this.transactionalOperator = transactionalOperator;
+        this.queueCapacity = queueCapacity;
+        this.maxDrainSize = maxDrainSize;
+
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane();
+            Gauge.builder("inventory.sequencer.queue.depth", lanes[i].depth, AtomicInteger::get)
+                .description("레인별 대기 중인 재고 작업 수")
+                .tag("lane", String.valueOf(i))
+                .register(meterRegistry);
+        }
+
+        this.rejectedCounter = Counter.builder("inventory.sequencer.rejected")
+            .description("대기열 초과로 거절된 재고 작업 수")
+            .register(meterRegistry);
+        this.coalescedWriteCounter = Counter.builder("inventory.sequencer.coalesced.writes")
+            .description("여러 증감 요청을 합쳐 실행한 UPDATE 수")
+            .register(meterRegistry);
+        this.coalescedOperationCounter = Counter.builder("inventory.sequencer.coalesced.operations")
+            .description("합쳐진 UPDATE 로 처리된 증감 요청 수")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 수량 증감 작업 등록 (같은 drain 에서 꺼낸 같은 재고의 증감과 합쳐질 수 있음)
+     * 합쳐서 반영할 수 없는 경우 fallback 으로 단건 처리한다.
+     */
+    public Mono<Inventory> submitDelta(
+        Long inventoryId,
+        Double delta,
+        InventoryEvent.EventType eventType,
+        EventMetadata metadata,
+        Supplier<Mono<Inventory>> fallback) {
+
+        return submit(new Operation(inventoryId, delta, eventType, metadata, fallback));
+    }
+
+    /**
+     * 일반 작업 등록 (합쳐지지 않고 레인 순서대로 단독 실행)
+     */
+    public Mono<Inventory> submit(Long inventoryId, Supplier<Mono<Inventory>> task) {
+        return submit(new Operation(inventoryId, null, null, null, task));
+    }
+
+    private Mono<Inventory> submit(Operation operation) {
+        return Mono.defer(() -> {
+            Lane lane = lanes[Math.floorMod(Long.hashCode(operation.inventoryId), lanes.length)];
+            if (!lane.offer(operation)) {
+                rejectedCounter.increment();
+                return Mono.error(new IllegalStateException(
+                    "재고 작업 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요. 재고ID: " + operation.inventoryId));
+            }
+            lane.drain();
+            return operation.result.asMono();
+        });
+    }
+
+    /**
+     * 꺼낸 작업들을 실행 단위로 묶음
+     * 같은 재고의 증감은 사이에 다른 재고의 작업이 끼어 있어도 하나의 run 으로 합친다 (A,B,A,B → [A,A],[B,B]).
+     * 일반 작업은 단독 run 이 되고 그 재고의 열린 run 을 닫으므로, 재고별 실행 순서는 그대로 유지된다.
+     * run 은 처음 만들어진 위치 순서대로 실행된다.
+     */
+    private List<List<Operation>> groupRuns(List<Operation> pending) {
+        List<List<Operation>> runs = new ArrayList<>();
+        Map<Long, List<Operation>> openRuns = new HashMap<>();
+
+        for (Operation operation : pending) {
+            if (!operation.isDelta()) {
+                openRuns.remove(operation.inventoryId);
+                runs.add(List.of(operation));
+                continue;
+            }
+            List<Operation> run = openRuns.get(operation.inventoryId);
+            if (run == null) {
+                run = new ArrayList<>();
+                runs.add(run);
+                openRuns.put(operation.inventoryId, run);
+            }
+            run.add(operation);
+        }
+        return runs;
+    }
+
+    private Mono<Void> execute(List<Operation> run) {
+        if (run.size() == 1) {
+            return executeSingle(run.get(0));
+        }
+        return executeCoalesced(run);
+    }
+
+    private Mono<Void> executeSingle(Operation operation) {
+        return Mono.defer(operation.task)
+            .doOnNext(operation.result::tryEmitValue)
+            .switchIfEmpty(Mono.fromRunnable(operation.result::tryEmitEmpty))
+            .onErrorResume(error -> {
+                operation.result.tryEmitError(error);
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * 같은 재고의 증감을 합산하여 UPDATE 1회 + 이벤트 INSERT 1회로 반영
+     * 중간 누적 수량이 음수가 되는 경우(출고 실패가 섞인 경우)에는 단건씩 순서대로 처리한다.
+     */
+    private Mono<Void> executeCoalesced(List<Operation> run) {
+        Long inventoryId = run.get(0).inventoryId;
+        double netDelta = 0;
+        double minPrefixDelta = 0;
+        for (Operation operation : run) {
+            netDelta += operation.delta;
+            minPrefixDelta = Math.min(minPrefixDelta, netDelta);
+        }
+        double totalDelta = netDelta;
+
+        return inventoryRepository.applyCoalescedDelta(inventoryId, totalDelta, minPrefixDelta)
+            .flatMap(inventory -> {
+                List<InventoryEvent> events = new ArrayList<>(run.size());
+                List<Inventory> snapshots = new ArrayList<>(run.size());
+                double quantity = Quantities.subtract(inventory.getQuantity(), totalDelta);
+
+                for (Operation operation : run) {
+                    double previousQuantity = quantity;
+                    quantity = Quantities.add(quantity, operation.delta);
+
+                    events.add(eventService.buildEventWithDetails(
+                        inventoryId,
+                        inventory.getProductId(),
+                        inventory.getWarehouseId(),
+                        operation.eventType,
+                        previousQuantity,
+                        quantity,
+                        operation.metadata
+                    ));
+                    snapshots.add(inventory.toBuilder().quantity(quantity).version(null).build());
+                }
+                // 커밋되는 상태는 마지막 것뿐이므로 행 version 은 마지막 스냅샷에만 남긴다
+                snapshots.set(run.size() - 1, inventory);
+
+                return eventService.createEventsWithDetails(events).thenReturn(snapshots);
+            })
+            .as(transactionalOperator::transactional)
+            .doOnNext(snapshots -> {
+                coalescedWriteCounter.increment();
+                coalescedOperationCounter.increment(run.size());
+                for (int i = 0; i < run.size(); i++) {
+                    run.get(i).result.tryEmitValue(snapshots.get(i));
+                }
+            })
+            .switchIfEmpty(Mono.defer(() -> Flux.fromIterable(run)
+                .concatMap(this::executeSingle)
+                .then(Mono.<List<Inventory>>empty())))
+            .onErrorResume(error -> {
+                log.error("재고 증감 병합 처리 실패: 재고ID={}, 요청 수={}", inventoryId, run.size(), error);
+                run.forEach(operation -> operation.result.tryEmitError(error));
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * 레인: 대기열과 drain 상태를 가지며, 한 시점에 하나의 drain 루프만 실행된다.
+     */
+    private final class Lane {
+        private final Queue<Operation> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger depth = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        boolean offer(Operation operation) {
+            if (depth.incrementAndGet() > queueCapacity) {
+                depth.decrementAndGet();
+                return false;
+            }
+            queue.offer(operation);
+            return true;
+        }
+
+        void drain() {
+            if (!draining.compareAndSet(false, true)) {
+                return;
+            }
+
+            List<Operation> pending = new ArrayList<>();
+            Operation operation;
+            while (pending.size() < maxDrainSize && (operation = queue.poll()) != null) {
+                pending.add(operation);
+            }
+
+            if (pending.isEmpty()) {
+                draining.set(false);
+                // 상태 해제 직전에 들어온 작업 처리
+                if (!queue.isEmpty()) {
+                    drain();
+                }
+                return;
+            }
+            depth.addAndGet(-pending.size());
+
+            Flux.fromIterable(groupRuns(pending))
+                .concatMap(InventoryWriteSequencer.this::execute)
+                .doFinally(signal -> {
+                    draining.set(false);
+                    drain();
+                })
+                .subscribe();
+        }
+    }
+
+    private static final class Operation {
+        private final Long inventoryId;
+        private final Double delta; // null 이면 합쳐지지 않는 일반 작업
+        private final InventoryEvent.EventType eventType;
+        private final EventMetadata metadata;
+        private final Supplier<Mono<Inventory>> task;
+        private final Sinks.One<Inventory> result = Sinks.one();
+
+        private Operation(
+            Long inventoryId,
+            Double delta,
+            InventoryEvent.EventType eventType,
+            EventMetadata metadata,
+            Supplier<Mono<Inventory>> task) {
+
+            this.inventoryId = inventoryId;
+            this.delta = delta;
+            this.eventType = eventType;
+            this.metadata = metadata;
+            this.task = task;
+        }
+
+        boolean isDelta() {
+            return delta != null;
+        }
+    }
+}
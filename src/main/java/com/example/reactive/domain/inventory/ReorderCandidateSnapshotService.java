@@ -0,0 +1,97 @@
+package com.example.reactive.domain.inventory;
+
+import com.example.reactive.domain.inventory.InventoryAnalysisService.ReorderItem;
+import com.example.reactive.global.util.WarehouseShard;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 재발주 대상 스냅샷
+ * 재발주 대상 조회(재고/상품/창고/수요 예측 조인)는 무거우므로 창고 구간별로 freshness 동안 한 번만 계산하고,
+ * 그 사이의 일일 점검 / 긴급 점검 / 수동 발주 요청이 같은 결과를 공유한다. 계산 중에 들어온 요청은 진행 중인 계산을 기다린다.
+ * 긴급 대상(재주문점의 50% 이하)은 미리 나눠 두어 긴급 점검이 일반 발주를 만들지 않도록 한다.
+ * 스냅샷을 공유해도 진행 중 발주의 부분 유니크 인덱스에 걸리는 발주 INSERT 는 건너뛰므로(ON CONFLICT DO NOTHING) 동시에 실행돼도 중복 발주는 생기지 않는다.
+ */
+@Slf4j
+@Service
+public class ReorderCandidateSnapshotService {
+
+    private final InventoryAnalysisService analysisService;
+    private final Duration freshness;
+
+    private final ConcurrentHashMap<WarehouseShard, Mono<Snapshot>> snapshots = new ConcurrentHashMap<>();
+
+    public ReorderCandidateSnapshotService(
+        InventoryAnalysisService analysisService,
+        @Value("${inventory.reorder.snapshot-freshness-ms:60000}") long freshnessMs) {
+
+        this.analysisService = analysisService;
+        this.freshness = Duration.ofMillis(freshnessMs);
+    }
+
+    /**
+     * 재주문점의 50% 이하면 긴급 대상
+     */
+    public static boolean isEmergency(ReorderItem item) {
+        return item.getReorderPoint() != null
+            && item.getCurrentQuantity() != null
+            && item.getCurrentQuantity() <= item.getReorderPoint() * 0.5;
+    }
+
+    /**
+     * 창고 구간의 재발주 대상 스냅샷 (freshness 이내에 계산된 것이 있으면 재사용, 실패하면 캐시하지 않음)
+     */
+    public Mono<Snapshot> getSnapshot(WarehouseShard shard) {
+        return snapshots.computeIfAbsent(shard, key -> Mono.defer(() -> compute(key))
+            .cache(snapshot -> freshness, error -> Duration.ZERO, () -> Duration.ZERO));
+    }
+
+    private Mono<Snapshot> compute(WarehouseShard shard) {
+        LocalDateTime computedAt = LocalDateTime.now();
+        List<ReorderItem> emergency = new ArrayList<>();
+        List<ReorderItem> regular = new ArrayList<>();
+
+        return analysisService.getItemsNeedReorder(shard)
+            .doOnNext(item -> (isEmergency(item) ? emergency : regular).add(item))
+            .then(Mono.fromSupplier(() -> Snapshot.builder()
+                .shard(shard)
+                .computedAt(computedAt)
+                .emergency(List.copyOf(emergency))
+                .regular(List.copyOf(regular))
+                .build()))
+            .doOnNext(snapshot -> log.info("재발주 대상 스냅샷 계산 [{}]: 긴급 {}건, 일반 {}건",
+                shard, snapshot.getEmergency().size(), snapshot.getRegular().size()));
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Snapshot {
+        private WarehouseShard shard;
+        private LocalDateTime computedAt;
+        private List<ReorderItem> emergency; // 긴급 대상 (재고 비율 오름차순)
+        private List<ReorderItem> regular;   // 나머지 대상 (재고 비율 오름차순)
+
+        /**
+         * 전체 대상 (긴급 대상 먼저)
+         */
+        public List<ReorderItem> all() {
+            List<ReorderItem> all = new ArrayList<>(emergency.size() + regular.size());
+            all.addAll(emergency);
+            all.addAll(regular);
+            return all;
+        }
+    }
+}
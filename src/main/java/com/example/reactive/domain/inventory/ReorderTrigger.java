@@ -0,0 +1,15 @@
+package com.example.reactive.domain.inventory;
+
+import reactor.core.publisher.Mono;
+import java.util.Collection;
+
+/**
+ * 임계값 하향 돌파 시 호출되는 재발주 진입점 (발주 도메인에서 구현)
+ */
+public interface ReorderTrigger {
+
+    /**
+     * 지정한 재고들의 재발주 처리 (생성된 발주 수 반환)
+     */
+    Mono<Long> reorder(Collection<Long> inventoryIds);
+}
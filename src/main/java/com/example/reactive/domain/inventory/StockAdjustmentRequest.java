@@ -0,0 +1,23 @@
+package com.example.reactive.domain.inventory;
+
+import lombok.Data;
+
+/**
+ * 재고 일괄 증감 요청 항목
+ */
+@Data
+public class StockAdjustmentRequest {
+    private Long inventoryId;
+    private AdjustmentType type;
+    private Double quantity;
+    private String reason;
+
+    public Double signedQuantity() {
+        return type == AdjustmentType.ADD ? quantity : -quantity;
+    }
+
+    public enum AdjustmentType {
+        ADD,    // 입고
+        REMOVE  // 출고
+    }
+}
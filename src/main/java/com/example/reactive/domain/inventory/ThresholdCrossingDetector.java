@@ -0,0 +1,202 @@
+package com.example.reactive.domain.inventory;
+
+import com.example.reactive.domain.inventory_event.InventoryEvent;
+import com.example.reactive.domain.inventory_event.InventoryEventService;
+import com.example.reactive.global.util.Rows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 임계값 하향 돌파 감지
+ * 출고로 수량이 재주문점 이하(LOW) 또는 재주문점 50% 이하(CRITICAL)로 처음 내려간 순간을 출고 경로에서 바로 감지해 작업 대기열에 넣는다.
+ * 재주문점은 재발주 대상 조회와 같이 수요 예측 재주문점이 있으면 그것을, 없으면 minimum_threshold 를 쓴다.
+ * 수요 예측 재주문점은 시작 시와 주기적으로 메모리에 다시 적재한다.
+ * 대기열은 재고 id 기준으로 중복을 제거하며(더 심각한 단계가 남음), 주기적으로 비워
+ * 현재 행을 다시 확인한 뒤 THRESHOLD_ALERT 를 한 번에 기록하고 재발주를 요청한다.
+ */
+@Slf4j
+@Service
+public class ThresholdCrossingDetector {
+
+    private static final int ABOVE = 0;
+    private static final int LOW = 1;
+    private static final int CRITICAL = 2;
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryEventService eventService;
+    private final DatabaseClient databaseClient;
+    private final ObjectProvider<ReorderTrigger> reorderTrigger;
+    private final int batchSize;
+
+    @Value("${inventory.startup-load.enabled:true}")
+    private boolean startupLoadEnabled;
+
+    private final Map<Long, Integer> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile Map<Sku, Double> forecastReorderPoints = Map.of();
+
+    public ThresholdCrossingDetector(
+        InventoryRepository inventoryRepository,
+        InventoryEventService eventService,
+        DatabaseClient databaseClient,
+        ObjectProvider<ReorderTrigger> reorderTrigger,
+        @Value("${inventory.threshold.batch-size:500}") int batchSize) {
+
+        this.inventoryRepository = inventoryRepository;
+        this.eventService = eventService;
+        this.databaseClient = databaseClient;
+        this.reorderTrigger = reorderTrigger;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 시작 시 수요 예측 재주문점 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!startupLoadEnabled) {
+            return;
+        }
+        reloadReorderPoints()
+            .subscribe(
+                count -> log.info("수요 예측 재주문점 적재: {}건", count),
+                error -> log.error("수요 예측 재주문점 적재 실패", error));
+    }
+
+    /**
+     * 수요 예측 재주문점 다시 적재 (적재된 SKU 수 반환)
+     */
+    public Mono<Integer> reloadReorderPoints() {
+        return databaseClient.sql("""
+                SELECT warehouse_id, product_id, reorder_point
+                FROM demand_forecasts
+                WHERE reorder_point IS NOT NULL
+                """)
+            .map(row -> Map.entry(
+                new Sku(Rows.getLong(row, "warehouse_id"), Rows.getLong(row, "product_id")),
+                Rows.getDouble(row, "reorder_point")))
+            .all()
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+            .doOnNext(points -> forecastReorderPoints = points)
+            .map(Map::size);
+    }
+
+    /**
+     * 수량 감소 반영 (커밋된 행과 변경 전 수량), 단계가 내려간 경우에만 대기열에 추가
+     */
+    public void onQuantityChanged(Inventory inventory, double previousQuantity) {
+        if (inventory.getId() == null || inventory.getQuantity() == null) {
+            return;
+        }
+        Double reorderPoint = reorderPoint(inventory);
+        int previousLevel = level(previousQuantity, reorderPoint);
+        int currentLevel = level(inventory.getQuantity(), reorderPoint);
+        if (currentLevel > previousLevel) {
+            pending.merge(inventory.getId(), currentLevel, Math::max);
+        }
+    }
+
+    /**
+     * 대기 중인 재고 수
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 대기열 처리 (기록한 알림 수 반환, 이전 실행이 진행 중이면 0)
+     */
+    public Mono<Integer> drain() {
+        if (pending.isEmpty() || !draining.compareAndSet(false, true)) {
+            return Mono.just(0);
+        }
+        Map<Long, Integer> batch = new HashMap<>();
+        for (Long inventoryId : pending.keySet()) {
+            Integer crossedLevel = pending.remove(inventoryId);
+            if (crossedLevel != null) {
+                batch.put(inventoryId, crossedLevel);
+            }
+            if (batch.size() >= batchSize) {
+                break;
+            }
+        }
+        if (batch.isEmpty()) {
+            draining.set(false);
+            return Mono.just(0);
+        }
+
+        return inventoryRepository.findAllById(batch.keySet())
+            // 그 사이 입고로 회복된 재고는 제외
+            .filter(inventory -> level(inventory.getQuantity(), reorderPoint(inventory)) > ABOVE)
+            .collectList()
+            .flatMap(crossed -> {
+                if (crossed.isEmpty()) {
+                    return Mono.just(0);
+                }
+                List<InventoryEvent> events = new ArrayList<>(crossed.size());
+                List<Long> inventoryIds = new ArrayList<>(crossed.size());
+                for (Inventory inventory : crossed) {
+                    Double reorderPoint = reorderPoint(inventory);
+                    int currentLevel = level(inventory.getQuantity(), reorderPoint);
+                    events.add(eventService.buildThresholdAlertEvent(
+                        inventory.getId(), inventory.getProductId(), inventory.getWarehouseId(),
+                        inventory.getQuantity(), reorderPoint,
+                        currentLevel == CRITICAL ? "CRITICAL" : "WARNING"));
+                    inventoryIds.add(inventory.getId());
+                }
+
+                return eventService.createEventsWithDetails(events)
+                    .flatMap(created -> reorder(inventoryIds).thenReturn(created));
+            })
+            .doOnNext(created -> log.info("임계값 하향 돌파 처리: 대상 {}건, 알림 {}건", batch.size(), created))
+            .doOnError(error -> batch.forEach((inventoryId, crossedLevel) -> pending.merge(inventoryId, crossedLevel, Math::max)))
+            .doFinally(signal -> draining.set(false));
+    }
+
+    private Mono<Long> reorder(List<Long> inventoryIds) {
+        ReorderTrigger trigger = reorderTrigger.getIfAvailable();
+        if (trigger == null) {
+            return Mono.just(0L);
+        }
+        // 재발주 실패는 알림을 다시 만들지 않고 주기 점검에 맡긴다
+        return trigger.reorder(inventoryIds)
+            .doOnNext(orders -> log.info("임계값 하향 돌파 재발주: {}건", orders))
+            .onErrorResume(error -> {
+                log.error("임계값 하향 돌파 재발주 실패: {}건", inventoryIds.size(), error);
+                return Mono.just(0L);
+            });
+    }
+
+    /**
+     * 실제 재주문점 (재발주 대상 조회의 COALESCE(f.reorder_point, i.minimum_threshold) 와 같다)
+     */
+    private Double reorderPoint(Inventory inventory) {
+        Double forecast = forecastReorderPoints.get(new Sku(inventory.getWarehouseId(), inventory.getProductId()));
+        return forecast != null ? forecast : inventory.getMinimumThreshold();
+    }
+
+    private static int level(Double quantity, Double threshold) {
+        if (quantity == null || threshold == null || threshold <= 0) {
+            return ABOVE;
+        }
+        if (quantity <= threshold * 0.5) {
+            return CRITICAL;
+        }
+        return quantity <= threshold ? LOW : ABOVE;
+    }
+
+    private record Sku(Long warehouseId, Long productId) {
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.reactive.domain.inventory;
+
+import com.example.reactive.global.util.Rows;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 창고별 재고 통계 (메모리 집계)
+ * 시작 시 한 번 전체를 적재하고, 재고 변경/상품 가격 변경 시 해당 재고 항목(수량, 임계값, 가치)의 기여분만 창고 합계에서 갱신한다.
+ * 항목 단위 교체와 전체 재계산 중 변경 처리는 InventoryItemAggregate 를 따른다.
+ */
+@Slf4j
+@Service
+public class WarehouseStatisticsService {
+
+    private final DatabaseClient databaseClient;
+
+    @Value("${inventory.startup-load.enabled:true}")
+    private boolean startupLoadEnabled;
+
+    private final InventoryItemAggregate.Holder<Double, State> holder = new InventoryItemAggregate.Holder<>(new State());
+
+    public WarehouseStatisticsService(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * 시작 시 전체 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!startupLoadEnabled) {
+            return;
+        }
+        recompute()
+            .doOnError(error -> log.error("창고 통계 적재 실패", error))
+            .subscribe();
+    }
+
+    /**
+     * 전체 창고 통계 (창고 id 순)
+     */
+    public List<WarehouseStatistics> getAllStatistics() {
+        return holder.current().warehouses.entrySet().stream()
+            .map(entry -> entry.getValue().toStatistics(entry.getKey()))
+            .sorted(Comparator.comparing(WarehouseStatistics::getWarehouseId))
+            .toList();
+    }
+
+    /**
+     * 창고 통계
+     */
+    public Optional<WarehouseStatistics> getStatistics(Long warehouseId) {
+        return Optional.ofNullable(holder.current().warehouses.get(warehouseId))
+            .map(aggregate -> aggregate.toStatistics(warehouseId));
+    }
+
+    /**
+     * 재고 변경 반영 (커밋된 행 기준)
+     */
+    public void onInventoryChanged(Inventory inventory) {
+        if (inventory.getId() == null) {
+            return;
+        }
+        holder.onInventoryChanged(inventory);
+    }
+
+    /**
+     * 상품 가격 변경 반영
+     */
+    public void onPriceChanged(Long productId, Double price) {
+        if (productId == null) {
+            return;
+        }
+        holder.onProductChanged(productId, price != null ? price : 0.0);
+    }
+
+    /**
+     * DB 에서 전체 재계산 후 교체
+     */
+    public Mono<Void> recompute() {
+        return holder.rebuild(new State(), this::loadInto)
+            .doOnNext(next -> log.info("창고 통계 재계산 완료: 창고 {}개, 재고 {}건", next.warehouses.size(), next.size()))
+            .then();
+    }
+
+    private Mono<Void> loadInto(State next) {
+        Mono<Void> warehouses = databaseClient.sql("SELECT id, location FROM warehouses")
+            .map(row -> {
+                Long warehouseId = Rows.getLong(row, "id");
+                next.warehouse(warehouseId).location = Rows.getString(row, "location");
+                return warehouseId;
+            })
+            .all()
+            .then();
+
+        Mono<Void> items = databaseClient.sql("""
+                SELECT i.id, i.warehouse_id, i.product_id, i.quantity, i.minimum_threshold, i.version, p.price
+                FROM inventory i
+                LEFT JOIN products p ON i.product_id = p.id
+                """)
+            .map(row -> {
+                Long productId = Rows.getLong(row, "product_id");
+                next.putProduct(productId, Optional.ofNullable(Rows.getDouble(row, "price")).orElse(0.0));
+                Inventory inventory = Inventory.builder()
+                    .id(Rows.getLong(row, "id"))
+                    .warehouseId(Rows.getLong(row, "warehouse_id"))
+                    .productId(productId)
+                    .quantity(Rows.getDouble(row, "quantity"))
+                    .minimumThreshold(Rows.getDouble(row, "minimum_threshold"))
+                    .version(Rows.getLong(row, "version"))
+                    .build();
+                next.apply(inventory);
+                return inventory.getId();
+            })
+            .all()
+            .then();
+
+        return warehouses.then(items);
+    }
+
+    /**
+     * 전체 집계 상태 (상품 상태 = 가격)
+     */
+    private static final class State extends InventoryItemAggregate<Double, ItemState> {
+        private final Map<Long, WarehouseAggregate> warehouses = new ConcurrentHashMap<>();
+
+        WarehouseAggregate warehouse(Long warehouseId) {
+            return warehouses.computeIfAbsent(warehouseId, id -> new WarehouseAggregate());
+        }
+
+        @Override
+        protected Double unknownProduct() {
+            return 0.0;
+        }
+
+        @Override
+        protected ItemState itemOf(Inventory inventory, Double price) {
+            return ItemState.of(inventory, price);
+        }
+
+        @Override
+        protected ItemState withProduct(ItemState item, Double price) {
+            return item.withPrice(price);
+        }
+
+        @Override
+        protected void add(ItemState item, int sign) {
+            warehouse(item.warehouseId()).add(item, sign);
+        }
+    }
+
+    /**
+     * 재고 항목 하나의 마지막 반영 상태
+     */
+    private record ItemState(long warehouseId, double quantity, double threshold, double price) {
+
+        static ItemState of(Inventory inventory, double price) {
+            return new ItemState(
+                inventory.getWarehouseId(),
+                inventory.getQuantity() != null ? inventory.getQuantity() : 0.0,
+                inventory.getMinimumThreshold() != null ? inventory.getMinimumThreshold() : 0.0,
+                price);
+        }
+
+        ItemState withPrice(double newPrice) {
+            return new ItemState(warehouseId, quantity, threshold, newPrice);
+        }
+
+        boolean lowStock() {
+            return threshold > 0 && quantity <= threshold;
+        }
+
+        boolean criticalStock() {
+            return threshold > 0 && quantity <= threshold * 0.5;
+        }
+
+        double value() {
+            return quantity * price;
+        }
+    }
+
+    private static final class WarehouseAggregate {
+        private volatile String location;
+        private final LongAdder totalItems = new LongAdder();
+        private final LongAdder lowStockItems = new LongAdder();
+        private final LongAdder criticalStockItems = new LongAdder();
+        private final DoubleAdder totalValue = new DoubleAdder();
+
+        void add(ItemState item, int sign) {
+            totalItems.add(sign);
+            if (item.lowStock()) {
+                lowStockItems.add(sign);
+            }
+            if (item.criticalStock()) {
+                criticalStockItems.add(sign);
+            }
+            totalValue.add(sign * item.value());
+        }
+
+        WarehouseStatistics toStatistics(Long warehouseId) {
+            return new WarehouseStatistics(warehouseId, location, totalItems.sum(), lowStockItems.sum(),
+                criticalStockItems.sum(), totalValue.sum());
+        }
+    }
+
+    /**
+     * 창고 통계
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class WarehouseStatistics {
+        private Long warehouseId;
+        private String location;
+        private Long totalItems;
+        private Long lowStockItems;
+        private Long criticalStockItems;
+        private Double totalValue;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.reactive.domain.inventory_event;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 이벤트 목록 keyset 페이지네이션 커서 ((timestamp, id) 내림차순 기준 마지막 위치)
+ * 클라이언트에는 불투명한 base64url 문자열로 전달한다.
+ */
+public record EventCursor(LocalDateTime timestamp, Long id) {
+
+    // 첫 페이지: 모든 이벤트보다 뒤에 있는 위치
+    public static final EventCursor FIRST = new EventCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    public static EventCursor after(InventoryEvent event) {
+        return new EventCursor(event.getTimestamp(), event.getId());
+    }
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열 해석 (null/빈 값이면 첫 페이지)
+     */
+    public static EventCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new EventCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor, e);
+        }
+    }
+}
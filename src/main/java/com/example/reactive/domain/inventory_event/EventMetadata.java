@@ -0,0 +1,120 @@
+package com.example.reactive.domain.inventory_event;
+
+import io.r2dbc.postgresql.codec.Json;
+import java.time.LocalDateTime;
+
+/**
+ * 이벤트 타입별 메타데이터
+ * 각 record 는 미리 인코딩된 키로 자신을 JSON 으로 직접 기록한다.
+ */
+public sealed interface EventMetadata {
+
+    void writeTo(MetadataJsonWriter writer);
+
+    default Json toJson() {
+        MetadataJsonWriter writer = new MetadataJsonWriter();
+        writeTo(writer);
+        return writer.toJson();
+    }
+
+    // 공통 키
+    String REASON = MetadataJsonWriter.key("reason");
+    String ALERT_LEVEL = MetadataJsonWriter.key("alertLevel");
+    String RECOMMENDED_ACTION = MetadataJsonWriter.key("recommendedAction");
+    String AUTO_ORDER_ID = MetadataJsonWriter.key("autoOrderId");
+
+    /**
+     * STOCK_ADDED - 재고 입고
+     */
+    record StockAdded(String reason, Double addedQuantity, String supplier) implements EventMetadata {
+        private static final String ADDED_QUANTITY = MetadataJsonWriter.key("addedQuantity");
+        private static final String SUPPLIER = MetadataJsonWriter.key("supplier");
+
+        @Override
+        public void writeTo(MetadataJsonWriter writer) {
+            writer.field(REASON, reason)
+                .field(ADDED_QUANTITY, addedQuantity)
+                .field(SUPPLIER, supplier);
+        }
+    }
+
+    /**
+     * STOCK_REMOVED - 재고 출고
+     */
+    record StockRemoved(String reason, Double removedQuantity, String customer) implements EventMetadata {
+        private static final String REMOVED_QUANTITY = MetadataJsonWriter.key("removedQuantity");
+        private static final String CUSTOMER = MetadataJsonWriter.key("customer");
+
+        @Override
+        public void writeTo(MetadataJsonWriter writer) {
+            writer.field(REASON, reason)
+                .field(REMOVED_QUANTITY, removedQuantity)
+                .field(CUSTOMER, customer);
+        }
+    }
+
+    /**
+     * STOCK_MOVED - 창고 내 위치 이동
+     */
+    record StockMoved(String reason, String oldLocation, String newLocation) implements EventMetadata {
+        private static final String OLD_LOCATION = MetadataJsonWriter.key("oldLocation");
+        private static final String NEW_LOCATION = MetadataJsonWriter.key("newLocation");
+
+        @Override
+        public void writeTo(MetadataJsonWriter writer) {
+            writer.field(REASON, reason)
+                .field(OLD_LOCATION, oldLocation)
+                .field(NEW_LOCATION, newLocation);
+        }
+    }
+
+    /**
+     * STOCK_CORRECTED - 이벤트 재생 결과로 수량 교정
+     */
+    record StockCorrected(String reason, String runId, Long chainBreaks) implements EventMetadata {
+        private static final String RUN_ID = MetadataJsonWriter.key("runId");
+        private static final String CHAIN_BREAKS = MetadataJsonWriter.key("chainBreaks");
+
+        @Override
+        public void writeTo(MetadataJsonWriter writer) {
+            writer.field(REASON, reason)
+                .field(RUN_ID, runId)
+                .field(CHAIN_BREAKS, chainBreaks);
+        }
+    }
+
+    /**
+     * THRESHOLD_ALERT - 재고 임계치 알림
+     */
+    record ThresholdAlert(String alertLevel, Double thresholdValue, Long autoOrderId, String recommendedAction)
+        implements EventMetadata {
+
+        private static final String THRESHOLD_VALUE = MetadataJsonWriter.key("thresholdValue");
+
+        @Override
+        public void writeTo(MetadataJsonWriter writer) {
+            writer.field(ALERT_LEVEL, alertLevel)
+                .field(THRESHOLD_VALUE, thresholdValue)
+                .field(AUTO_ORDER_ID, autoOrderId)
+                .field(RECOMMENDED_ACTION, recommendedAction);
+        }
+    }
+
+    /**
+     * EXPIRY_ALERT - 유통기한 알림
+     */
+    record ExpiryAlert(String alertLevel, LocalDateTime expiryDate, Integer daysRemaining, String recommendedAction)
+        implements EventMetadata {
+
+        private static final String EXPIRY_DATE = MetadataJsonWriter.key("expiryDate");
+        private static final String DAYS_REMAINING = MetadataJsonWriter.key("daysRemaining");
+
+        @Override
+        public void writeTo(MetadataJsonWriter writer) {
+            writer.field(ALERT_LEVEL, alertLevel)
+                .field(EXPIRY_DATE, expiryDate != null ? expiryDate.toString() : null)
+                .field(DAYS_REMAINING, daysRemaining)
+                .field(RECOMMENDED_ACTION, recommendedAction);
+        }
+    }
+}
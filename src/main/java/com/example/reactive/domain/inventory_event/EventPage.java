@@ -0,0 +1,28 @@
+package com.example.reactive.domain.inventory_event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+/**
+ * 이벤트 목록 페이지 (next 가 null 이면 마지막 페이지)
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventPage {
+    private List<InventoryEvent> items;
+    private String next;
+
+    /**
+     * pageSize + 1 건을 조회한 결과로 페이지 생성 (초과분이 있으면 다음 커서 발급)
+     */
+    public static EventPage of(List<InventoryEvent> fetched, int pageSize) {
+        if (fetched.size() <= pageSize) {
+            return new EventPage(fetched, null);
+        }
+        List<InventoryEvent> items = fetched.subList(0, pageSize);
+        return new EventPage(items, EventCursor.after(items.get(pageSize - 1)).encode());
+    }
+}
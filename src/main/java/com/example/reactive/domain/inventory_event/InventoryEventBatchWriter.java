@@ -0,0 +1,233 @@
+package com.example.reactive.domain.inventory_event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 재고 이벤트 비동기 배치 writer
+ * 이벤트를 제한된 버퍼에 적재하고, 배치 크기 또는 시간 간격에 도달하면 multi-row INSERT 한 번으로 저장한다.
+ * 버퍼가 가득 차면 적재 가능해질 때까지 flush 간격으로 재시도하고, 한도를 넘으면 오류를 반환한다.
+ * 버퍼로 들어온 이벤트의 통계는 적재 시점이 아니라 배치 INSERT 가 커밋된 뒤 반영한다 (flush 에 실패한 이벤트는 세지 않음).
+ */
+@Slf4j
+@Component
+public class InventoryEventBatchWriter {
+
+    public enum Durability {
+        WAIT_FOR_FLUSH,  // 이벤트가 포함된 배치가 커밋된 후 완료
+        FIRE_AND_FORGET  // 버퍼 적재 즉시 완료
+    }
+
+    private final InventoryEventRepository eventRepository;
+    private final InventoryEventStatisticsService statisticsService;
+
+    private final boolean enabled;
+    private final Durability durability;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final int backpressureRetries;
+
+    private final BlockingQueue<PendingEvent> buffer;
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private Disposable flushTicker;
+
+    private final Timer flushLatency;
+    private final DistributionSummary flushBatchSize;
+    private final Counter flushFailures;
+
+    public InventoryEventBatchWriter(
+        InventoryEventRepository eventRepository,
+        InventoryEventStatisticsService statisticsService,
+        MeterRegistry meterRegistry,
+        @Value("${inventory.events.async.enabled:false}") boolean enabled,
+        @Value("${inventory.events.async.durability:WAIT_FOR_FLUSH}") Durability durability,
+        @Value("${inventory.events.async.batch-size:500}") int batchSize,
+        @Value("${inventory.events.async.flush-interval-ms:20}") long flushIntervalMs,
+        @Value("${inventory.events.async.buffer-capacity:10000}") int bufferCapacity,
+        @Value("${inventory.events.async.backpressure-retries:50}") int backpressureRetries) {
+
+        this.eventRepository = eventRepository;
+        this.statisticsService = statisticsService;
+        this.enabled = enabled;
+        this.durability = durability;
+        this.batchSize = batchSize;
+        this.flushInterval = Duration.ofMillis(flushIntervalMs);
+        this.backpressureRetries = backpressureRetries;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+
+        this.flushLatency = Timer.builder("inventory.events.flush.latency")
+            .description("이벤트 배치 INSERT 소요 시간")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.flushBatchSize = DistributionSummary.builder("inventory.events.flush.batch.size")
+            .description("flush 당 이벤트 수")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.flushFailures = Counter.builder("inventory.events.flush.failures")
+            .description("실패한 이벤트 flush 수")
+            .register(meterRegistry);
+        Gauge.builder("inventory.events.buffer.size", buffer, BlockingQueue::size)
+            .description("flush 대기 중인 이벤트 수")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (enabled) {
+            flushTicker = Flux.interval(flushInterval)
+                .subscribe(tick -> flush());
+            log.info("재고 이벤트 비동기 배치 모드 활성화: 배치={}건, 간격={}ms, 내구성={}",
+                batchSize, flushInterval.toMillis(), durability);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (flushTicker != null) {
+            flushTicker.dispose();
+        }
+        // 종료 시 남은 이벤트 저장
+        while (!buffer.isEmpty()) {
+            List<PendingEvent> batch = drainBatch();
+            writeBatch(batch).block(Duration.ofSeconds(10));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 이벤트 적재
+     */
+    public Mono<Void> enqueue(InventoryEvent event) {
+        PendingEvent pending = new PendingEvent(event);
+
+        return Mono.fromCallable(() -> buffer.offer(pending))
+            .filter(Boolean::booleanValue)
+            .repeatWhenEmpty(backpressureRetries, attempts -> attempts.delayElements(flushInterval))
+            .onErrorMap(IllegalStateException.class,
+                error -> new IllegalStateException("재고 이벤트 버퍼가 가득 찼습니다. 버퍼 크기: " + buffer.size(), error))
+            .flatMap(accepted -> {
+                if (buffer.size() >= batchSize) {
+                    flush();
+                }
+                return durability == Durability.WAIT_FOR_FLUSH
+                    ? pending.flushed.asMono()
+                    : Mono.<Void>empty();
+            });
+    }
+
+    /**
+     * 이벤트 다건 즉시 저장 (단일 multi-row INSERT)
+     */
+    public Mono<Integer> insertAll(List<InventoryEvent> events) {
+        if (events.isEmpty()) {
+            return Mono.just(0);
+        }
+
+        int size = events.size();
+        Long[] inventoryIds = new Long[size];
+        Long[] productIds = new Long[size];
+        Long[] warehouseIds = new Long[size];
+        String[] eventTypes = new String[size];
+        Double[] previousQuantities = new Double[size];
+        Double[] newQuantities = new Double[size];
+        LocalDateTime[] timestamps = new LocalDateTime[size];
+        String[] metadata = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            InventoryEvent event = events.get(i);
+            inventoryIds[i] = event.getInventoryId();
+            productIds[i] = event.getProductId();
+            warehouseIds[i] = event.getWarehouseId();
+            eventTypes[i] = event.getEventType().name();
+            previousQuantities[i] = event.getPreviousQuantity();
+            newQuantities[i] = event.getNewQuantity();
+            timestamps[i] = event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now();
+            metadata[i] = event.getMetadata() != null ? event.getMetadata().asString() : null;
+        }
+
+        return eventRepository.insertAll(inventoryIds, productIds, warehouseIds, eventTypes,
+            previousQuantities, newQuantities, timestamps, metadata);
+    }
+
+    /**
+     * 버퍼 flush (동시에 하나의 flush 만 실행)
+     */
+    private void flush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+
+        List<PendingEvent> batch = drainBatch();
+        if (batch.isEmpty()) {
+            flushing.set(false);
+            return;
+        }
+
+        writeBatch(batch)
+            .doFinally(signal -> {
+                flushing.set(false);
+                if (buffer.size() >= batchSize) {
+                    flush();
+                }
+            })
+            .subscribe();
+    }
+
+    private List<PendingEvent> drainBatch() {
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        buffer.drainTo(batch, batchSize);
+        return batch;
+    }
+
+    private Mono<Void> writeBatch(List<PendingEvent> batch) {
+        long startedAt = System.nanoTime();
+        List<InventoryEvent> events = batch.stream().map(pending -> pending.event).toList();
+
+        return insertAll(events)
+            .doOnNext(inserted -> {
+                flushLatency.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                flushBatchSize.record(batch.size());
+                statisticsService.recordAll(events);
+                batch.forEach(pending -> pending.flushed.tryEmitEmpty());
+            })
+            .doOnError(error -> {
+                flushFailures.increment();
+                log.error("재고 이벤트 배치 저장 실패: {}건", batch.size(), error);
+                batch.forEach(pending -> pending.flushed.tryEmitError(error));
+            })
+            .onErrorResume(error -> Mono.empty())
+            .then();
+    }
+
+    private static final class PendingEvent {
+        private final InventoryEvent event;
+        private final Sinks.Empty<Void> flushed = Sinks.empty();
+
+        private PendingEvent(InventoryEvent event) {
+            this.event = event;
+        }
+    }
+}
@@ -2,9 +2,13 @@ package com.example.reactive.domain.inventory_event;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Map;
 
@@ -14,48 +18,83 @@ import java.util.Map;
 public class InventoryEventController {
 
     private final InventoryEventService eventService;
+    private final InventoryEventStreamService eventStreamService;
+    private final InventoryEventRollupService rollupService;
 
     /**
      * 재고별 이벤트 조회
      */
     @GetMapping("/inventory/{inventoryId}")
-    public Flux<InventoryEvent> getEventsByInventory(@PathVariable Long inventoryId) {
-        return eventService.getEventsByInventory(inventoryId);
+    public Mono<ResponseEntity<EventPage>> getEventsByInventory(
+        @PathVariable Long inventoryId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limit) {
+
+        return toResponse(eventService.getEventsByInventory(inventoryId, cursor, limit));
     }
 
     /**
      * 상품별 이벤트 조회
      */
     @GetMapping("/product/{productId}")
-    public Flux<InventoryEvent> getEventsByProduct(@PathVariable Long productId) {
-        return eventService.getEventsByProduct(productId);
+    public Mono<ResponseEntity<EventPage>> getEventsByProduct(
+        @PathVariable Long productId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limit) {
+
+        return toResponse(eventService.getEventsByProduct(productId, cursor, limit));
     }
 
     /**
      * 창고별 이벤트 조회
      */
     @GetMapping("/warehouse/{warehouseId}")
-    public Flux<InventoryEvent> getEventsByWarehouse(@PathVariable Long warehouseId) {
-        return eventService.getEventsByWarehouse(warehouseId);
+    public Mono<ResponseEntity<EventPage>> getEventsByWarehouse(
+        @PathVariable Long warehouseId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limit) {
+
+        return toResponse(eventService.getEventsByWarehouse(warehouseId, cursor, limit));
     }
 
     /**
      * 이벤트 타입별 조회
      */
     @GetMapping("/type/{eventType}")
-    public Flux<InventoryEvent> getEventsByType(@PathVariable InventoryEvent.EventType eventType) {
-        return eventService.getEventsByType(eventType);
+    public Mono<ResponseEntity<EventPage>> getEventsByType(
+        @PathVariable InventoryEvent.EventType eventType,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limit) {
+
+        return toResponse(eventService.getEventsByType(eventType, cursor, limit));
     }
 
     /**
      * 특정 기간 이벤트 조회
      */
     @GetMapping("/date-range")
-    public Flux<InventoryEvent> getEventsByDateRange(
+    public Mono<ResponseEntity<EventPage>> getEventsByDateRange(
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limit) {
+
+        return toResponse(eventService.getEventsByDateRange(startDate, endDate, cursor, limit));
+    }
+
+    /**
+     * 메타데이터 필드로 이벤트 조회
+     */
+    @GetMapping("/metadata")
+    public Mono<ResponseEntity<EventPage>> getEventsByMetadata(
+        @RequestParam(required = false) Long autoOrderId,
+        @RequestParam(required = false) String alertLevel,
+        @RequestParam(required = false) String reason,
+        @RequestParam(required = false) InventoryEvent.EventType eventType,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limit) {
 
-        return eventService.getEventsByDateRange(startDate, endDate);
+        return toResponse(eventService.getEventsByMetadata(autoOrderId, alertLevel, reason, eventType, cursor, limit));
     }
 
     /**
@@ -70,8 +109,27 @@ public class InventoryEventController {
      * 오늘 발생한 이벤트 조회
      */
     @GetMapping("/today")
-    public Flux<InventoryEvent> getTodayEvents() {
-        return eventService.getTodayEvents();
+    public Mono<ResponseEntity<EventPage>> getTodayEvents(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "50") int limit) {
+
+        return toResponse(eventService.getTodayEvents(cursor, limit));
+    }
+
+    /**
+     * 실시간 이벤트 스트림 (Server-Sent Events)
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<InventoryEvent>> streamEvents(
+        @RequestParam(required = false) Long warehouseId,
+        @RequestParam(required = false) Long productId,
+        @RequestParam(required = false) InventoryEvent.EventType eventType) {
+
+        return eventStreamService.stream(warehouseId, productId, eventType)
+            .map(event -> ServerSentEvent.builder(event)
+                .id(String.valueOf(event.getId()))
+                .event(event.getEventType().name())
+                .build());
     }
 
     /**
@@ -82,6 +140,46 @@ public class InventoryEventController {
         return eventService.getEventStatistics();
     }
 
+    /**
+     * 창고의 일자/타입별 이벤트 통계 조회
+     */
+    @GetMapping("/statistics/warehouse/{warehouseId}")
+    public Flux<InventoryEventStatisticsService.DailyEventCount> getDailyStatistics(
+        @PathVariable Long warehouseId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+
+        return eventService.getDailyStatistics(warehouseId, startDate, endDate);
+    }
+
+    /**
+     * 시간 단위 이벤트 시계열 (롤업 조회, 지정하지 않은 조건은 합산)
+     */
+    @GetMapping("/timeseries/hourly")
+    public Flux<InventoryEventRollupService.RollupPoint> getHourlySeries(
+        @RequestParam(required = false) Long warehouseId,
+        @RequestParam(required = false) Long productId,
+        @RequestParam(required = false) InventoryEvent.EventType eventType,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+
+        return rollupService.getHourlySeries(warehouseId, productId, eventType, start, end);
+    }
+
+    /**
+     * 일 단위 이벤트 시계열 (롤업 조회, 지정하지 않은 조건은 합산)
+     */
+    @GetMapping("/timeseries/daily")
+    public Flux<InventoryEventRollupService.RollupPoint> getDailySeries(
+        @RequestParam(required = false) Long warehouseId,
+        @RequestParam(required = false) Long productId,
+        @RequestParam(required = false) InventoryEvent.EventType eventType,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+
+        return rollupService.getDailySeries(warehouseId, productId, eventType, start, end);
+    }
+
     /**
      * 상품의 최근 이벤트 조회
      */
@@ -92,4 +190,12 @@ public class InventoryEventController {
 
         return eventService.getRecentEventsByProduct(productId, limit);
     }
-}
\ No newline at end of file
+
+    /**
+     * 페이지 응답 변환 (잘못된 커서는 400)
+     */
+    private Mono<ResponseEntity<EventPage>> toResponse(Mono<EventPage> page) {
+        return page.map(ResponseEntity::ok)
+            .onErrorReturn(IllegalArgumentException.class, ResponseEntity.badRequest().build());
+    }
+}
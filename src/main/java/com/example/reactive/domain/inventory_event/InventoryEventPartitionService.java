@@ -0,0 +1,198 @@
+package com.example.reactive.domain.inventory_event;
+
+import io.r2dbc.spi.Row;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 재고 이벤트 월별 파티션 관리
+ * 다가올 달의 파티션을 미리 생성하고, 보관 기간이 지난 파티션은 gzip CSV 로 보관한 뒤 분리/삭제한다.
+ */
+@Slf4j
+@Service
+public class InventoryEventPartitionService {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("^inventory_events_(\\d{4})_(\\d{2})$");
+    private static final DateTimeFormatter CSV_TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final DatabaseClient databaseClient;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final Path archiveDirectory;
+
+    public InventoryEventPartitionService(
+        DatabaseClient databaseClient,
+        @Value("${inventory.events.partition.premake-months:3}") int premakeMonths,
+        @Value("${inventory.events.partition.retention-months:12}") int retentionMonths,
+        @Value("${inventory.events.partition.archive-dir:./archive/inventory-events}") String archiveDirectory) {
+
+        this.databaseClient = databaseClient;
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.archiveDirectory = Paths.get(archiveDirectory);
+    }
+
+    /**
+     * 파티션 유지보수 (미리 생성 + 만료 파티션 보관)
+     */
+    public Flux<String> maintainPartitions() {
+        return createUpcomingPartitions()
+            .concatWith(archiveExpiredPartitions());
+    }
+
+    /**
+     * 이번 달부터 premakeMonths 개월치 파티션 생성
+     */
+    public Flux<String> createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+
+        return Flux.range(0, premakeMonths)
+            .map(current::plusMonths)
+            .concatMap(month -> databaseClient.sql("SELECT create_inventory_events_partition(:monthStart) AS name")
+                .bind("monthStart", month.atDay(1))
+                .map(row -> row.get("name", String.class))
+                .one())
+            .doOnNext(partition -> log.debug("재고 이벤트 파티션 확인: {}", partition));
+    }
+
+    /**
+     * 보관 기간이 지난 파티션을 보관 파일로 내보낸 뒤 분리/삭제
+     */
+    public Flux<String> archiveExpiredPartitions() {
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+
+        return findMonthlyPartitions()
+            .filter(partition -> partitionMonth(partition).isBefore(cutoff))
+            .concatMap(partition -> archivePartition(partition)
+                .flatMap(rows -> dropPartition(partition)
+                    .doOnSuccess(unused -> log.info("재고 이벤트 파티션 보관 완료: {} ({}건)", partition, rows)))
+                .thenReturn(partition));
+    }
+
+    private Flux<String> findMonthlyPartitions() {
+        return databaseClient.sql("""
+                SELECT c.relname AS name
+                FROM pg_inherits i
+                JOIN pg_class c ON c.oid = i.inhrelid
+                JOIN pg_class p ON p.oid = i.inhparent
+                WHERE p.relname = 'inventory_events'
+                ORDER BY c.relname
+                """)
+            .map(row -> row.get("name", String.class))
+            .all()
+            .filter(name -> PARTITION_NAME.matcher(name).matches());
+    }
+
+    private YearMonth partitionMonth(String partition) {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("월별 파티션 이름이 아닙니다: " + partition);
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+
+    /**
+     * 파티션 전체를 gzip CSV 파일로 기록 (행 단위 스트리밍)
+     * 파티션 이름은 pg_class 에서 조회하고 PARTITION_NAME 패턴으로 검증된 값만 사용한다.
+     */
+    private Mono<Long> archivePartition(String partition) {
+        Path target = archiveDirectory.resolve(partition + "_" + LocalDate.now() + ".csv.gz");
+
+        return Mono.using(
+                () -> openArchive(target),
+                writer -> databaseClient.sql("""
+                        SELECT id, inventory_id, product_id, warehouse_id, event_type,
+                               previous_quantity, new_quantity, timestamp, metadata::text AS metadata
+                        FROM %s
+                        ORDER BY timestamp, id
+                        """.formatted(partition))
+                    .map((row, metadata) -> toCsvLine(row))
+                    .all()
+                    .publishOn(Schedulers.boundedElastic())
+                    .doOnNext(line -> write(writer, line))
+                    .count(),
+                this::close)
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Void> dropPartition(String partition) {
+        return databaseClient.sql("ALTER TABLE inventory_events DETACH PARTITION " + partition)
+            .then()
+            .then(databaseClient.sql("DROP TABLE " + partition).then());
+    }
+
+    private BufferedWriter openArchive(Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+            new GZIPOutputStream(Files.newOutputStream(target)), StandardCharsets.UTF_8));
+        writer.write("id,inventory_id,product_id,warehouse_id,event_type,previous_quantity,new_quantity,timestamp,metadata");
+        writer.newLine();
+        return writer;
+    }
+
+    private String toCsvLine(Row row) {
+        LocalDateTime timestamp = row.get("timestamp", LocalDateTime.class);
+        return String.join(",",
+            String.valueOf(row.get("id", Long.class)),
+            String.valueOf(row.get("inventory_id", Long.class)),
+            String.valueOf(row.get("product_id", Long.class)),
+            String.valueOf(row.get("warehouse_id", Long.class)),
+            row.get("event_type", String.class),
+            plain(row.get("previous_quantity", BigDecimal.class)),
+            plain(row.get("new_quantity", BigDecimal.class)),
+            timestamp != null ? timestamp.format(CSV_TIMESTAMP) : "",
+            quote(row.get("metadata", String.class)));
+    }
+
+    private String plain(BigDecimal value) {
+        return value != null ? value.toPlainString() : "";
+    }
+
+    private String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private void write(BufferedWriter writer, String line) {
+        try {
+            writer.write(line);
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 보관 파일 닫기 (gzip 마지막 블록이 기록되지 않았을 수 있으므로 실패하면 보관 실패로 처리해 파티션을 지우지 않는다)
+     */
+    private void close(BufferedWriter writer) {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
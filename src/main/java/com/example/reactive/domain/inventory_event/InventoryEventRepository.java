@@ -1,5 +1,6 @@
 package com.example.reactive.domain.inventory_event;
 
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -8,38 +9,111 @@ import reactor.core.publisher.Mono;
 import java.time.LocalDateTime;
 
 @Repository
-public interface InventoryEventRepository extends ReactiveCrudRepository<InventoryEvent, String> {
+public interface InventoryEventRepository extends ReactiveCrudRepository<InventoryEvent, Long> {
 
-    // 재고별 이벤트 조회 (최신순)
-    Flux<InventoryEvent> findByInventoryIdOrderByTimestampDesc(Long inventoryId);
+    // 최근 이벤트 조회
+    @Query("SELECT * FROM inventory_events ORDER BY timestamp DESC LIMIT :limit")
+    Flux<InventoryEvent> findRecentEvents(int limit);
 
-    // 이벤트 타입별 조회
-    Flux<InventoryEvent> findByEventType(InventoryEvent.EventType eventType);
+    // 재고 목록의 전체 이벤트 (재생 순서: 재고, 시간, id)
+    @Query("""
+        SELECT * FROM inventory_events
+        WHERE inventory_id = ANY(CAST(:inventoryIds AS BIGINT[]))
+        ORDER BY inventory_id, timestamp, id
+        """)
+    Flux<InventoryEvent> findReplayEvents(Long[] inventoryIds);
 
-    // 상품별 이벤트 조회
-    Flux<InventoryEvent> findByProductId(Long productId);
+    // ---- keyset 페이지네이션 ((timestamp, id) 내림차순, 커서 이후 :limit 건) ----
 
-    // 창고별 이벤트 조회
-    Flux<InventoryEvent> findByWarehouseId(Long warehouseId);
+    // 메타데이터 포함 조건 이벤트 페이지 (metadata @> 필터, GIN 인덱스 사용 / 이벤트 타입은 선택)
+    @Query("""
+        SELECT * FROM inventory_events
+        WHERE metadata @> CAST(:filter AS JSONB)
+        AND (CAST(:eventType AS VARCHAR) IS NULL OR event_type = CAST(:eventType AS VARCHAR))
+        AND (timestamp, id) < (:cursorTimestamp, :cursorId)
+        ORDER BY timestamp DESC, id DESC
+        LIMIT :limit
+        """)
+    Flux<InventoryEvent> findPageByMetadata(String filter, String eventType, LocalDateTime cursorTimestamp, Long cursorId, int limit);
 
-    // 특정 기간 이벤트 조회
-    @Query("SELECT * FROM inventory_events WHERE timestamp BETWEEN :startDate AND :endDate ORDER BY timestamp DESC")
-    Flux<InventoryEvent> findByTimestampBetween(LocalDateTime startDate, LocalDateTime endDate);
+    // 재고별 이벤트 페이지
+    @Query("""
+        SELECT * FROM inventory_events
+        WHERE inventory_id = :inventoryId
+        AND (timestamp, id) < (:cursorTimestamp, :cursorId)
+        ORDER BY timestamp DESC, id DESC
+        LIMIT :limit
+        """)
+    Flux<InventoryEvent> findPageByInventoryId(Long inventoryId, LocalDateTime cursorTimestamp, Long cursorId, int limit);
 
-    // 최근 이벤트 조회
-    @Query("SELECT * FROM inventory_events ORDER BY timestamp DESC LIMIT :limit")
-    Flux<InventoryEvent> findRecentEvents(int limit);
+    // 상품별 이벤트 페이지
+    @Query("""
+        SELECT * FROM inventory_events
+        WHERE product_id = :productId
+        AND (timestamp, id) < (:cursorTimestamp, :cursorId)
+        ORDER BY timestamp DESC, id DESC
+        LIMIT :limit
+        """)
+    Flux<InventoryEvent> findPageByProductId(Long productId, LocalDateTime cursorTimestamp, Long cursorId, int limit);
+
+    // 창고별 이벤트 페이지
+    @Query("""
+        SELECT * FROM inventory_events
+        WHERE warehouse_id = :warehouseId
+        AND (timestamp, id) < (:cursorTimestamp, :cursorId)
+        ORDER BY timestamp DESC, id DESC
+        LIMIT :limit
+        """)
+    Flux<InventoryEvent> findPageByWarehouseId(Long warehouseId, LocalDateTime cursorTimestamp, Long cursorId, int limit);
+
+    // 이벤트 타입별 페이지
+    @Query("""
+        SELECT * FROM inventory_events
+        WHERE event_type = :eventType
+        AND (timestamp, id) < (:cursorTimestamp, :cursorId)
+        ORDER BY timestamp DESC, id DESC
+        LIMIT :limit
+        """)
+    Flux<InventoryEvent> findPageByEventType(String eventType, LocalDateTime cursorTimestamp, Long cursorId, int limit);
 
-    // 특정 재고의 특정 타입 이벤트
-    Flux<InventoryEvent> findByInventoryIdAndEventType(Long inventoryId, InventoryEvent.EventType eventType);
+    // 기간별 이벤트 페이지 (timestamp 범위 조건 유지 → 파티션 pruning 적용)
+    @Query("""
+        SELECT * FROM inventory_events
+        WHERE timestamp BETWEEN :startDate AND :endDate
+        AND (timestamp, id) < (:cursorTimestamp, :cursorId)
+        ORDER BY timestamp DESC, id DESC
+        LIMIT :limit
+        """)
+    Flux<InventoryEvent> findPageByTimestampBetween(LocalDateTime startDate, LocalDateTime endDate,
+                                                    LocalDateTime cursorTimestamp, Long cursorId, int limit);
 
-    // 오늘 발생한 이벤트들
-    @Query("SELECT * FROM inventory_events WHERE DATE(timestamp) = CURRENT_DATE ORDER BY timestamp DESC")
-    Flux<InventoryEvent> findTodayEvents();
+    // 오늘 발생한 이벤트 페이지 (DATE(timestamp) 대신 범위 조건을 사용해야 인덱스/파티션 pruning 이 적용됨)
+    @Query("""
+        SELECT * FROM inventory_events
+        WHERE timestamp >= CURRENT_DATE
+        AND timestamp < CURRENT_DATE + INTERVAL '1 day'
+        AND (timestamp, id) < (:cursorTimestamp, :cursorId)
+        ORDER BY timestamp DESC, id DESC
+        LIMIT :limit
+        """)
+    Flux<InventoryEvent> findTodayPage(LocalDateTime cursorTimestamp, Long cursorId, int limit);
 
-    // 이벤트 통계 (타입별 개수)
-    @Query("SELECT event_type, COUNT(*) as count FROM inventory_events GROUP BY event_type")
-    Flux<Object[]> countByEventType();
+    // 이벤트 다건 삽입 (배열 파라미터를 unnest 하여 단일 INSERT 로 처리)
+    @Modifying
+    @Query("""
+        INSERT INTO inventory_events (inventory_id, product_id, warehouse_id, event_type,
+                                      previous_quantity, new_quantity, timestamp, metadata)
+        SELECT e.inventory_id, e.product_id, e.warehouse_id, e.event_type,
+               e.previous_quantity, e.new_quantity, e.timestamp, CAST(e.metadata AS JSONB)
+        FROM unnest(CAST(:inventoryIds AS BIGINT[]), CAST(:productIds AS BIGINT[]),
+                    CAST(:warehouseIds AS BIGINT[]), CAST(:eventTypes AS VARCHAR[]),
+                    CAST(:previousQuantities AS NUMERIC[]), CAST(:newQuantities AS NUMERIC[]),
+                    CAST(:timestamps AS TIMESTAMP[]), CAST(:metadata AS TEXT[]))
+             AS e(inventory_id, product_id, warehouse_id, event_type, previous_quantity, new_quantity, timestamp, metadata)
+        """)
+    Mono<Integer> insertAll(Long[] inventoryIds, Long[] productIds, Long[] warehouseIds, String[] eventTypes,
+                            Double[] previousQuantities, Double[] newQuantities, LocalDateTime[] timestamps,
+                            String[] metadata);
 
     // 특정 상품의 최근 이벤트
     @Query("SELECT * FROM inventory_events WHERE product_id = :productId ORDER BY timestamp DESC LIMIT :limit")
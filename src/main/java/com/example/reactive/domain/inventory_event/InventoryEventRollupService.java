@@ -0,0 +1,233 @@
+package com.example.reactive.domain.inventory_event;
+
+import io.r2dbc.spi.Row;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * 재고 이벤트 시간/일 단위 롤업
+ * watermark 이후의 완료된 시간 구간을 (창고, 상품, 이벤트 타입)별로 다시 집계해 덮어쓰고,
+ * 해당 구간이 걸친 일자는 시간 롤업의 합으로 다시 계산한 뒤 watermark 를 옮긴다 (한 트랜잭션).
+ * 같은 구간을 여러 번 실행해도 결과가 같으며, 한 번에 처리하는 구간은 maxWindow 로 제한한다.
+ * 이벤트 timestamp 는 커밋 시각이 아니므로 settle 시간보다 늦게 커밋된 이벤트가 이미 지난 구간에 들어갈 수 있다.
+ * 이를 반영하기 위해 매 실행마다 watermark 와 관계없이 최근 restateWindow 만큼의 구간을 다시 집계한다.
+ */
+@Slf4j
+@Service
+public class InventoryEventRollupService {
+
+    private static final String ROLLUP_NAME = "inventory_events";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final Duration settleTime;
+    private final Duration maxWindow;
+    private final Duration restateWindow;
+
+    public InventoryEventRollupService(
+        DatabaseClient databaseClient,
+        TransactionalOperator transactionalOperator,
+        @Value("${inventory.events.rollup.settle-seconds:120}") long settleSeconds,
+        @Value("${inventory.events.rollup.max-window-hours:24}") long maxWindowHours,
+        @Value("${inventory.events.rollup.restate-hours:3}") long restateHours) {
+
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.settleTime = Duration.ofSeconds(settleSeconds);
+        this.maxWindow = Duration.ofHours(maxWindowHours);
+        this.restateWindow = Duration.ofHours(restateHours);
+    }
+
+    /**
+     * watermark 와 최근 restateWindow 중 이른 시각부터 완료된 마지막 시간 구간까지 롤업 (최종 watermark 반환)
+     */
+    public Mono<LocalDateTime> rollUp() {
+        LocalDateTime target = LocalDateTime.now().minus(settleTime).truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime restateFrom = target.minus(restateWindow);
+
+        return currentWatermark(target)
+            .map(watermark -> watermark.isBefore(restateFrom) ? watermark : restateFrom)
+            .expand(watermark -> {
+                if (!watermark.isBefore(target)) {
+                    return Mono.empty();
+                }
+                LocalDateTime to = watermark.plus(maxWindow).isBefore(target) ? watermark.plus(maxWindow) : target;
+                return rollUpWindow(watermark, to);
+            })
+            .last();
+    }
+
+    /**
+     * 시간 단위 시계열
+     */
+    public Flux<RollupPoint> getHourlySeries(
+        Long warehouseId, Long productId, InventoryEvent.EventType eventType, LocalDateTime start, LocalDateTime end) {
+
+        return series("inventory_event_rollups_hourly", "bucket_start", warehouseId, productId, eventType, start, end,
+            row -> toPoint(row, row.get("bucket", LocalDateTime.class)));
+    }
+
+    /**
+     * 일 단위 시계열
+     */
+    public Flux<RollupPoint> getDailySeries(
+        Long warehouseId, Long productId, InventoryEvent.EventType eventType, LocalDate start, LocalDate end) {
+
+        return series("inventory_event_rollups_daily", "bucket_date", warehouseId, productId, eventType, start, end,
+            row -> toPoint(row, row.get("bucket", LocalDate.class).atStartOfDay()));
+    }
+
+    private Mono<LocalDateTime> currentWatermark(LocalDateTime target) {
+        return databaseClient.sql("SELECT watermark FROM inventory_event_rollup_watermarks WHERE rollup_name = :name")
+            .bind("name", ROLLUP_NAME)
+            .map(row -> row.get("watermark", LocalDateTime.class))
+            .one()
+            // 처음 실행 시 가장 오래된 이벤트의 시간 구간부터
+            .switchIfEmpty(Mono.defer(() -> databaseClient
+                .sql("SELECT date_trunc('hour', MIN(timestamp)) AS first_bucket FROM inventory_events")
+                .map(row -> Optional.ofNullable(row.get("first_bucket", LocalDateTime.class)))
+                .one()
+                .map(first -> first.orElse(target))));
+    }
+
+    /**
+     * [from, to) 구간 롤업 (from, to 는 정시)
+     */
+    private Mono<LocalDateTime> rollUpWindow(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime dayStart = from.toLocalDate().atStartOfDay();
+        LocalDateTime dayEnd = to.toLocalTime().equals(LocalTime.MIDNIGHT)
+            ? to
+            : to.toLocalDate().plusDays(1).atStartOfDay();
+
+        Mono<Long> hourly = databaseClient.sql("""
+                INSERT INTO inventory_event_rollups_hourly
+                    (warehouse_id, product_id, event_type, bucket_start, event_count, net_quantity_delta)
+                SELECT warehouse_id, product_id, event_type, date_trunc('hour', timestamp),
+                       COUNT(*), COALESCE(SUM(new_quantity - previous_quantity), 0)
+                FROM inventory_events
+                WHERE timestamp >= :from
+                AND timestamp < :to
+                GROUP BY warehouse_id, product_id, event_type, date_trunc('hour', timestamp)
+                ON CONFLICT (warehouse_id, product_id, event_type, bucket_start)
+                DO UPDATE SET event_count = EXCLUDED.event_count,
+                              net_quantity_delta = EXCLUDED.net_quantity_delta
+                """)
+            .bind("from", from)
+            .bind("to", to)
+            .fetch()
+            .rowsUpdated();
+
+        Mono<Long> daily = databaseClient.sql("""
+                INSERT INTO inventory_event_rollups_daily
+                    (warehouse_id, product_id, event_type, bucket_date, event_count, net_quantity_delta)
+                SELECT warehouse_id, product_id, event_type, CAST(bucket_start AS DATE),
+                       SUM(event_count), SUM(net_quantity_delta)
+                FROM inventory_event_rollups_hourly
+                WHERE bucket_start >= :dayStart
+                AND bucket_start < :dayEnd
+                GROUP BY warehouse_id, product_id, event_type, CAST(bucket_start AS DATE)
+                ON CONFLICT (warehouse_id, product_id, event_type, bucket_date)
+                DO UPDATE SET event_count = EXCLUDED.event_count,
+                              net_quantity_delta = EXCLUDED.net_quantity_delta
+                """)
+            .bind("dayStart", dayStart)
+            .bind("dayEnd", dayEnd)
+            .fetch()
+            .rowsUpdated();
+
+        Mono<Long> watermark = databaseClient.sql("""
+                INSERT INTO inventory_event_rollup_watermarks (rollup_name, watermark)
+                VALUES (:name, :to)
+                ON CONFLICT (rollup_name)
+                DO UPDATE SET watermark = GREATEST(inventory_event_rollup_watermarks.watermark, EXCLUDED.watermark)
+                """)
+            .bind("name", ROLLUP_NAME)
+            .bind("to", to)
+            .fetch()
+            .rowsUpdated();
+
+        return hourly
+            .flatMap(hourlyRows -> daily
+                .flatMap(dailyRows -> watermark
+                    .doOnNext(unused -> log.info("재고 이벤트 롤업: {} ~ {}, 시간 {}행, 일 {}행",
+                        from, to, hourlyRows, dailyRows))))
+            .as(transactionalOperator::transactional)
+            .thenReturn(to);
+    }
+
+    /**
+     * 롤업 테이블 시계열 조회 (지정하지 않은 조건은 합산)
+     * 테이블/컬럼 이름은 내부 상수만 사용한다.
+     */
+    private Flux<RollupPoint> series(
+        String table, String bucketColumn,
+        Long warehouseId, Long productId, InventoryEvent.EventType eventType,
+        Object start, Object end, Function<Row, RollupPoint> mapper) {
+
+        StringBuilder sql = new StringBuilder()
+            .append("SELECT ").append(bucketColumn).append(" AS bucket, event_type, ")
+            .append("CAST(SUM(event_count) AS BIGINT) AS event_count, SUM(net_quantity_delta) AS net_quantity_delta ")
+            .append("FROM ").append(table).append(' ')
+            .append("WHERE ").append(bucketColumn).append(" >= :start AND ").append(bucketColumn).append(" < :end");
+        if (warehouseId != null) {
+            sql.append(" AND warehouse_id = :warehouseId");
+        }
+        if (productId != null) {
+            sql.append(" AND product_id = :productId");
+        }
+        if (eventType != null) {
+            sql.append(" AND event_type = :eventType");
+        }
+        sql.append(" GROUP BY bucket, event_type ORDER BY bucket, event_type");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+            .bind("start", start)
+            .bind("end", end);
+        if (warehouseId != null) {
+            spec = spec.bind("warehouseId", warehouseId);
+        }
+        if (productId != null) {
+            spec = spec.bind("productId", productId);
+        }
+        if (eventType != null) {
+            spec = spec.bind("eventType", eventType.name());
+        }
+        return spec.map((row, metadata) -> mapper.apply(row)).all();
+    }
+
+    private RollupPoint toPoint(Row row, LocalDateTime bucket) {
+        return new RollupPoint(
+            bucket,
+            row.get("event_type", String.class),
+            row.get("event_count", Long.class),
+            row.get("net_quantity_delta", Double.class));
+    }
+
+    /**
+     * 시계열 한 점 (구간 시작, 이벤트 타입, 건수, 순 수량 변화)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RollupPoint {
+        private LocalDateTime bucket;
+        private String eventType;
+        private Long eventCount;
+        private Double netQuantityDelta;
+    }
+}
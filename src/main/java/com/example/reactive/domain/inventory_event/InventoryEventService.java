@@ -2,12 +2,18 @@ package com.example.reactive.domain.inventory_event;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.function.BiFunction;
 
 @Slf4j
 @Service
@@ -15,6 +21,11 @@ import java.util.UUID;
 public class InventoryEventService {
 
     private final InventoryEventRepository eventRepository;
+    private final InventoryEventBatchWriter batchWriter;
+    private final InventoryEventStatisticsService statisticsService;
+
+    @Value("${inventory.events.page.max-size:500}")
+    private int maxPageSize;
 
     /**
      * 재고 이벤트 생성
@@ -24,19 +35,18 @@ public class InventoryEventService {
         InventoryEvent.EventType eventType,
         Double previousQuantity,
         Double newQuantity,
-        String metadata) {
+        EventMetadata metadata) {
 
         InventoryEvent event = InventoryEvent.builder()
-            .id(UUID.randomUUID().toString())
             .inventoryId(inventoryId)
             .eventType(eventType)
             .previousQuantity(previousQuantity)
             .newQuantity(newQuantity)
             .timestamp(LocalDateTime.now())
-            .metadata(metadata)
+            .metadata(metadata.toJson())
             .build();
 
-        return eventRepository.save(event)
+        return persist(event)
             .doOnNext(savedEvent -> log.info("재고 이벤트 생성: 타입={}, 재고ID={}",
                 savedEvent.getEventType(), savedEvent.getInventoryId()));
     }
@@ -51,10 +61,60 @@ public class InventoryEventService {
         InventoryEvent.EventType eventType,
         Double previousQuantity,
         Double newQuantity,
-        String metadata) {
+        EventMetadata metadata) {
 
-        InventoryEvent event = InventoryEvent.builder()
-            .id(UUID.randomUUID().toString())
+        InventoryEvent event = buildEventWithDetails(
+            inventoryId, productId, warehouseId, eventType, previousQuantity, newQuantity, metadata);
+
+        return persist(event)
+            .doOnNext(savedEvent -> log.info("상세 재고 이벤트 생성: 타입={}, 상품ID={}, 창고ID={}",
+                savedEvent.getEventType(), savedEvent.getProductId(), savedEvent.getWarehouseId()));
+    }
+
+    /**
+     * 이벤트 저장
+     * 비동기 배치 모드에서는 버퍼에 적재한 뒤 설정된 내구성 수준(flush 대기 / 적재 즉시)에 따라 완료된다.
+     * 이 경우 이벤트 INSERT 는 호출자의 트랜잭션과 별개로 커밋되며, 통계는 배치 writer 가 INSERT 커밋 후 반영한다.
+     */
+    private Mono<InventoryEvent> persist(InventoryEvent event) {
+        if (batchWriter.isEnabled()) {
+            return batchWriter.enqueue(event).thenReturn(event);
+        }
+        return eventRepository.save(event)
+            .flatMap(savedEvent -> recordAfterCommit(List.of(savedEvent)).thenReturn(savedEvent));
+    }
+
+    /**
+     * 이벤트 통계 반영 (호출자 트랜잭션이 있으면 커밋된 뒤, 없으면 즉시)
+     * 롤백된 이벤트가 미반영 카운터에 남아 통계 테이블로 흘러가지 않도록 한다.
+     */
+    private Mono<Void> recordAfterCommit(List<InventoryEvent> events) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+            .filter(TransactionSynchronizationManager::isSynchronizationActive)
+            .doOnNext(synchronizationManager -> synchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public Mono<Void> afterCommit() {
+                    return Mono.fromRunnable(() -> statisticsService.recordAll(events));
+                }
+            }))
+            .onErrorResume(NoTransactionException.class, error -> Mono.empty())
+            .switchIfEmpty(Mono.fromRunnable(() -> statisticsService.recordAll(events)))
+            .then();
+    }
+
+    /**
+     * 상품과 창고 정보가 포함된 이벤트 객체 생성 (저장하지 않음)
+     */
+    public InventoryEvent buildEventWithDetails(
+        Long inventoryId,
+        Long productId,
+        Long warehouseId,
+        InventoryEvent.EventType eventType,
+        Double previousQuantity,
+        Double newQuantity,
+        EventMetadata metadata) {
+
+        return InventoryEvent.builder()
             .inventoryId(inventoryId)
             .productId(productId)
             .warehouseId(warehouseId)
@@ -62,80 +122,138 @@ public class InventoryEventService {
             .previousQuantity(previousQuantity)
             .newQuantity(newQuantity)
             .timestamp(LocalDateTime.now())
-            .metadata(metadata)
+            .metadata(metadata.toJson())
             .build();
+    }
 
-        return eventRepository.save(event)
-            .doOnNext(savedEvent -> log.info("상세 재고 이벤트 생성: 타입={}, 상품ID={}, 창고ID={}",
-                savedEvent.getEventType(), savedEvent.getProductId(), savedEvent.getWarehouseId()));
+    /**
+     * 이벤트 다건 생성 (단일 multi-row INSERT)
+     */
+    public Mono<Integer> createEventsWithDetails(List<InventoryEvent> events) {
+        return batchWriter.insertAll(events)
+            .flatMap(inserted -> recordAfterCommit(events).thenReturn(inserted))
+            .doOnNext(inserted -> log.info("재고 이벤트 일괄 생성: {}건", inserted));
     }
 
     /**
      * 재고별 이벤트 조회
      */
-    public Flux<InventoryEvent> getEventsByInventory(Long inventoryId) {
-        return eventRepository.findByInventoryIdOrderByTimestampDesc(inventoryId)
-            .doOnNext(event -> log.debug("재고 이벤트 조회: {}", event.getEventType()));
+    public Mono<EventPage> getEventsByInventory(Long inventoryId, String cursor, int limit) {
+        return page(cursor, limit, (after, size) ->
+            eventRepository.findPageByInventoryId(inventoryId, after.timestamp(), after.id(), size));
     }
 
     /**
      * 상품별 이벤트 조회
      */
-    public Flux<InventoryEvent> getEventsByProduct(Long productId) {
-        return eventRepository.findByProductId(productId);
+    public Mono<EventPage> getEventsByProduct(Long productId, String cursor, int limit) {
+        return page(cursor, limit, (after, size) ->
+            eventRepository.findPageByProductId(productId, after.timestamp(), after.id(), size));
     }
 
     /**
      * 창고별 이벤트 조회
      */
-    public Flux<InventoryEvent> getEventsByWarehouse(Long warehouseId) {
-        return eventRepository.findByWarehouseId(warehouseId);
+    public Mono<EventPage> getEventsByWarehouse(Long warehouseId, String cursor, int limit) {
+        return page(cursor, limit, (after, size) ->
+            eventRepository.findPageByWarehouseId(warehouseId, after.timestamp(), after.id(), size));
     }
 
     /**
      * 이벤트 타입별 조회
      */
-    public Flux<InventoryEvent> getEventsByType(InventoryEvent.EventType eventType) {
-        return eventRepository.findByEventType(eventType);
+    public Mono<EventPage> getEventsByType(InventoryEvent.EventType eventType, String cursor, int limit) {
+        return page(cursor, limit, (after, size) ->
+            eventRepository.findPageByEventType(eventType.name(), after.timestamp(), after.id(), size));
     }
 
     /**
      * 특정 기간 이벤트 조회
      */
-    public Flux<InventoryEvent> getEventsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return eventRepository.findByTimestampBetween(startDate, endDate);
+    public Mono<EventPage> getEventsByDateRange(LocalDateTime startDate, LocalDateTime endDate, String cursor, int limit) {
+        return page(cursor, limit, (after, size) ->
+            eventRepository.findPageByTimestampBetween(startDate, endDate, after.timestamp(), after.id(), size));
+    }
+
+    /**
+     * 오늘 발생한 이벤트 조회
+     */
+    public Mono<EventPage> getTodayEvents(String cursor, int limit) {
+        return page(cursor, limit, (after, size) ->
+            eventRepository.findTodayPage(after.timestamp(), after.id(), size));
+    }
+
+    /**
+     * 메타데이터 필드로 이벤트 조회 (지정한 필드가 모두 일치하는 이벤트)
+     */
+    public Mono<EventPage> getEventsByMetadata(
+        Long autoOrderId,
+        String alertLevel,
+        String reason,
+        InventoryEvent.EventType eventType,
+        String cursor,
+        int limit) {
+
+        String filter = new MetadataJsonWriter()
+            .field(EventMetadata.AUTO_ORDER_ID, autoOrderId)
+            .field(EventMetadata.ALERT_LEVEL, alertLevel)
+            .field(EventMetadata.REASON, reason)
+            .toString();
+        if ("{}".equals(filter)) {
+            return Mono.error(new IllegalArgumentException("메타데이터 조건이 하나 이상 필요합니다."));
+        }
+        String type = eventType != null ? eventType.name() : null;
+
+        return page(cursor, limit, (after, size) ->
+            eventRepository.findPageByMetadata(filter, type, after.timestamp(), after.id(), size));
     }
 
     /**
      * 최근 이벤트 조회
      */
     public Flux<InventoryEvent> getRecentEvents(int limit) {
-        return eventRepository.findRecentEvents(limit);
+        return eventRepository.findRecentEvents(pageSize(limit));
     }
 
     /**
-     * 오늘 발생한 이벤트 조회
+     * keyset 페이지 조회 (다음 페이지 존재 여부 확인을 위해 한 건 더 조회)
      */
-    public Flux<InventoryEvent> getTodayEvents() {
-        return eventRepository.findTodayEvents();
+    private Mono<EventPage> page(String cursor, int limit, BiFunction<EventCursor, Integer, Flux<InventoryEvent>> query) {
+        int size = pageSize(limit);
+        return Mono.fromCallable(() -> EventCursor.decode(cursor))
+            .flatMap(after -> query.apply(after, size + 1).collectList())
+            .map(events -> EventPage.of(events, size));
     }
 
     /**
-     * 이벤트 통계 조회
+     * 요청 페이지 크기를 서버 최대값 이내로 제한
+     */
+    private int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, maxPageSize));
+    }
+
+
+    /**
+     * 이벤트 통계 조회 (증분 집계된 메모리 카운터)
      */
     public Mono<Map<String, Long>> getEventStatistics() {
-        return eventRepository.countByEventType()
-            .collectMap(
-                row -> ((InventoryEvent.EventType) row[0]).name(),
-                row -> (Long) row[1]
-            );
+        return Mono.fromSupplier(statisticsService::getStatistics);
+    }
+
+    /**
+     * 창고의 일자/타입별 이벤트 통계 조회
+     */
+    public Flux<InventoryEventStatisticsService.DailyEventCount> getDailyStatistics(
+        Long warehouseId, LocalDate startDate, LocalDate endDate) {
+
+        return statisticsService.getDailyStatistics(warehouseId, startDate, endDate);
     }
 
     /**
      * 상품의 최근 이벤트 조회
      */
     public Flux<InventoryEvent> getRecentEventsByProduct(Long productId, int limit) {
-        return eventRepository.findRecentEventsByProduct(productId, limit);
+        return eventRepository.findRecentEventsByProduct(productId, pageSize(limit));
     }
 
     /**
@@ -149,10 +267,7 @@ public class InventoryEventService {
         Double addedQuantity,
         String reason) {
 
-        String metadata = String.format(
-            "{\"reason\": \"%s\", \"addedQuantity\": %.2f, \"supplier\": \"%s\"}",
-            reason, addedQuantity, "미정"
-        );
+        EventMetadata metadata = new EventMetadata.StockAdded(reason, addedQuantity, "미정");
 
         return createEventWithDetails(
             inventoryId, productId, warehouseId,
@@ -174,10 +289,7 @@ public class InventoryEventService {
         Double removedQuantity,
         String reason) {
 
-        String metadata = String.format(
-            "{\"reason\": \"%s\", \"removedQuantity\": %.2f, \"customer\": \"%s\"}",
-            reason, removedQuantity, "미정"
-        );
+        EventMetadata metadata = new EventMetadata.StockRemoved(reason, removedQuantity, "미정");
 
         return createEventWithDetails(
             inventoryId, productId, warehouseId,
@@ -200,10 +312,7 @@ public class InventoryEventService {
         String newLocation,
         String reason) {
 
-        String metadata = String.format(
-            "{\"reason\": \"%s\", \"oldLocation\": \"%s\", \"newLocation\": \"%s\"}",
-            reason, oldLocation, newLocation
-        );
+        EventMetadata metadata = new EventMetadata.StockMoved(reason, oldLocation, newLocation);
 
         return createEventWithDetails(
             inventoryId, productId, warehouseId,
@@ -225,10 +334,7 @@ public class InventoryEventService {
         Double threshold,
         Long autoOrderId) {
 
-        String metadata = String.format(
-            "{\"alertLevel\": \"WARNING\", \"thresholdValue\": %.2f, \"autoOrderId\": %d, \"recommendedAction\": \"재입고 필요\"}",
-            threshold, autoOrderId
-        );
+        EventMetadata metadata = new EventMetadata.ThresholdAlert("WARNING", threshold, autoOrderId, "재입고 필요");
 
         return createEventWithDetails(
             inventoryId, productId, warehouseId,
@@ -239,6 +345,29 @@ public class InventoryEventService {
         );
     }
 
+    /**
+     * 임계값 알림 이벤트 객체 생성 (저장하지 않음, alertLevel = WARNING / CRITICAL)
+     */
+    public InventoryEvent buildThresholdAlertEvent(
+        Long inventoryId,
+        Long productId,
+        Long warehouseId,
+        Double currentQuantity,
+        Double threshold,
+        String alertLevel) {
+
+        EventMetadata metadata = new EventMetadata.ThresholdAlert(
+            alertLevel, threshold, null, "CRITICAL".equals(alertLevel) ? "긴급 재입고 필요" : "재입고 필요");
+
+        return buildEventWithDetails(
+            inventoryId, productId, warehouseId,
+            InventoryEvent.EventType.THRESHOLD_ALERT,
+            currentQuantity,
+            currentQuantity,
+            metadata
+        );
+    }
+
     /**
      * 유통기한 알림 이벤트 생성 (편의 메서드)
      */
@@ -250,15 +379,32 @@ public class InventoryEventService {
         LocalDateTime expiryDate,
         int daysRemaining) {
 
-        String metadata = String.format(
-            "{\"alertLevel\": \"%s\", \"expiryDate\": \"%s\", \"daysRemaining\": %d, \"recommendedAction\": \"%s\"}",
+        InventoryEvent event = buildExpiryAlertEvent(inventoryId, productId, warehouseId, quantity, expiryDate, daysRemaining);
+
+        return persist(event)
+            .doOnNext(savedEvent -> log.info("상세 재고 이벤트 생성: 타입={}, 상품ID={}, 창고ID={}",
+                savedEvent.getEventType(), savedEvent.getProductId(), savedEvent.getWarehouseId()));
+    }
+
+    /**
+     * 유통기한 알림 이벤트 객체 생성 (저장하지 않음)
+     */
+    public InventoryEvent buildExpiryAlertEvent(
+        Long inventoryId,
+        Long productId,
+        Long warehouseId,
+        Double quantity,
+        LocalDateTime expiryDate,
+        int daysRemaining) {
+
+        EventMetadata metadata = new EventMetadata.ExpiryAlert(
             daysRemaining <= 2 ? "URGENT" : "WARNING",
             expiryDate,
             daysRemaining,
             daysRemaining <= 2 ? "즉시 처리 필요" : "우선 출고 권장"
         );
 
-        return createEventWithDetails(
+        return buildEventWithDetails(
             inventoryId, productId, warehouseId,
             InventoryEvent.EventType.EXPIRY_ALERT,
             quantity,
@@ -266,4 +412,4 @@ public class InventoryEventService {
             metadata
         );
     }
-}
\ No newline at end of file
+}
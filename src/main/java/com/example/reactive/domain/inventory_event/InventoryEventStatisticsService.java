@@ -0,0 +1,318 @@
+package com.example.reactive.domain.inventory_event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 재고 이벤트 통계 (증분 집계)
+ * 이벤트 저장 경로에서 타입별 카운터와 (타입, 창고, 일자)별 미반영 카운터를 증가시키고,
+ * 주기적으로 미반영분을 inventory_event_stats 에 UPSERT 한다.
+ * 조회는 메모리 카운터(반영 완료분 + 미반영분)만 사용하며, 보정 작업이 지난 일자를 원본 이벤트로 다시 집계해 오차를 바로잡는다.
+ * 이벤트는 커밋된 뒤에만 반영되고(InventoryEventService), flush / 보정 / 합계 적재는 한 번에 하나만 실행된다.
+ */
+@Slf4j
+@Service
+public class InventoryEventStatisticsService {
+
+    private static final Retry BUSY_RETRY = Retry.fixedDelay(100, Duration.ofMillis(100))
+        .filter(StatisticsBusyException.class::isInstance);
+
+    private final DatabaseClient databaseClient;
+    private final int reconcileDays;
+    private final Duration settle;
+
+    @Value("${inventory.startup-load.enabled:true}")
+    private boolean startupLoadEnabled;
+
+    // 타입별 DB 반영 완료 건수 / 아직 DB 에 반영되지 않은 건수
+    private final Map<InventoryEvent.EventType, AtomicLong> persistedTotals;
+    private final Map<InventoryEvent.EventType, LongAdder> unflushedTotals;
+
+    // (타입, 창고, 일자)별 미반영 건수
+    private final ConcurrentHashMap<StatKey, LongAdder> pending = new ConcurrentHashMap<>();
+
+    // flush / reconcile / reloadTotals 직렬화 (동시에 실행되면 보정 결과와 반영분이 서로를 덮어씀)
+    private final AtomicBoolean writing = new AtomicBoolean();
+
+    public InventoryEventStatisticsService(
+        DatabaseClient databaseClient,
+        @Value("${inventory.events.stats.reconcile-days:2}") int reconcileDays,
+        @Value("${inventory.events.stats.settle-seconds:300}") long settleSeconds) {
+
+        this.databaseClient = databaseClient;
+        this.reconcileDays = reconcileDays;
+        this.settle = Duration.ofSeconds(settleSeconds);
+
+        Map<InventoryEvent.EventType, AtomicLong> persisted = new EnumMap<>(InventoryEvent.EventType.class);
+        Map<InventoryEvent.EventType, LongAdder> unflushed = new EnumMap<>(InventoryEvent.EventType.class);
+        for (InventoryEvent.EventType type : InventoryEvent.EventType.values()) {
+            persisted.put(type, new AtomicLong());
+            unflushed.put(type, new LongAdder());
+        }
+        this.persistedTotals = Collections.unmodifiableMap(persisted);
+        this.unflushedTotals = Collections.unmodifiableMap(unflushed);
+    }
+
+    /**
+     * 시작 시 통계 테이블에서 타입별 누적 건수 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!startupLoadEnabled) {
+            return;
+        }
+        exclusive(this::reloadTotals)
+            .retryWhen(BUSY_RETRY)
+            .doOnSuccess(unused -> log.info("재고 이벤트 통계 적재 완료: {}", getStatistics()))
+            .doOnError(error -> log.error("재고 이벤트 통계 적재 실패", error))
+            .subscribe();
+    }
+
+    /**
+     * 저장된 이벤트 반영
+     */
+    public void record(InventoryEvent event) {
+        if (event.getEventType() == null) {
+            return;
+        }
+        LocalDateTime timestamp = event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now();
+        long warehouseId = event.getWarehouseId() != null ? event.getWarehouseId() : 0L;
+
+        pending.computeIfAbsent(new StatKey(event.getEventType(), warehouseId, timestamp.toLocalDate()),
+                key -> new LongAdder())
+            .increment();
+        unflushedTotals.get(event.getEventType()).increment();
+    }
+
+    /**
+     * 저장된 이벤트 다건 반영
+     */
+    public void recordAll(List<InventoryEvent> events) {
+        events.forEach(this::record);
+    }
+
+    /**
+     * 타입별 이벤트 건수 (메모리 조회, 0건인 타입 제외)
+     */
+    public Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new LinkedHashMap<>();
+        for (InventoryEvent.EventType type : InventoryEvent.EventType.values()) {
+            long count = persistedTotals.get(type).get() + unflushedTotals.get(type).sum();
+            if (count > 0) {
+                statistics.put(type.name(), count);
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * 창고의 일자/타입별 이벤트 건수 (통계 테이블 조회)
+     */
+    public Flux<DailyEventCount> getDailyStatistics(Long warehouseId, LocalDate startDate, LocalDate endDate) {
+        return databaseClient.sql("""
+                SELECT stat_date, event_type, event_count
+                FROM inventory_event_stats
+                WHERE warehouse_id = :warehouseId
+                AND stat_date BETWEEN :startDate AND :endDate
+                ORDER BY stat_date, event_type
+                """)
+            .bind("warehouseId", warehouseId)
+            .bind("startDate", startDate)
+            .bind("endDate", endDate)
+            .map(row -> new DailyEventCount(
+                row.get("stat_date", LocalDate.class),
+                row.get("event_type", String.class),
+                row.get("event_count", Long.class)))
+            .all();
+    }
+
+    /**
+     * 미반영 카운터를 통계 테이블에 UPSERT (배치 1회)
+     * 보정이 진행 중이면 이번 주기는 건너뛴다.
+     */
+    public Mono<Integer> flush() {
+        return exclusive(this::flushPending)
+            .onErrorResume(StatisticsBusyException.class, error -> Mono.just(0));
+    }
+
+    /**
+     * 미반영 카운터 UPSERT (writing 잠금을 잡은 상태에서 호출)
+     * 실패하면 꺼낸 건수를 다시 미반영 카운터에 되돌린다.
+     */
+    private Mono<Integer> flushPending() {
+        return Mono.defer(() -> {
+            List<StatKey> keys = new ArrayList<>();
+            List<Long> counts = new ArrayList<>();
+            pending.forEach((key, adder) -> {
+                long count = adder.sumThenReset();
+                if (count > 0) {
+                    keys.add(key);
+                    counts.add(count);
+                }
+            });
+            if (keys.isEmpty()) {
+                return Mono.just(0);
+            }
+
+            int size = keys.size();
+            String[] eventTypes = new String[size];
+            Long[] warehouseIds = new Long[size];
+            LocalDate[] statDates = new LocalDate[size];
+            Long[] eventCounts = new Long[size];
+            for (int i = 0; i < size; i++) {
+                StatKey key = keys.get(i);
+                eventTypes[i] = key.eventType().name();
+                warehouseIds[i] = key.warehouseId();
+                statDates[i] = key.statDate();
+                eventCounts[i] = counts.get(i);
+            }
+
+            return databaseClient.sql("""
+                    INSERT INTO inventory_event_stats (event_type, warehouse_id, stat_date, event_count)
+                    SELECT * FROM unnest(
+                        CAST(:eventTypes AS VARCHAR[]),
+                        CAST(:warehouseIds AS BIGINT[]),
+                        CAST(:statDates AS DATE[]),
+                        CAST(:eventCounts AS BIGINT[]))
+                    ON CONFLICT (event_type, warehouse_id, stat_date)
+                    DO UPDATE SET event_count = inventory_event_stats.event_count + EXCLUDED.event_count
+                    """)
+                .bind("eventTypes", eventTypes)
+                .bind("warehouseIds", warehouseIds)
+                .bind("statDates", statDates)
+                .bind("eventCounts", eventCounts)
+                .fetch()
+                .rowsUpdated()
+                .map(Long::intValue)
+                .doOnSuccess(updated -> {
+                    for (int i = 0; i < size; i++) {
+                        InventoryEvent.EventType type = keys.get(i).eventType();
+                        persistedTotals.get(type).addAndGet(counts.get(i));
+                        unflushedTotals.get(type).add(-counts.get(i));
+                    }
+                })
+                .doOnError(error -> {
+                    log.warn("재고 이벤트 통계 반영 실패, 다음 주기에 재시도: {}건", size, error);
+                    for (int i = 0; i < size; i++) {
+                        pending.computeIfAbsent(keys.get(i), key -> new LongAdder()).add(counts.get(i));
+                    }
+                });
+        });
+    }
+
+    /**
+     * 지난 reconcileDays 일을 원본 이벤트로 다시 집계해 통계 테이블을 덮어쓰고 메모리 합계를 다시 적재
+     * (다른 인스턴스의 반영 실패 등으로 생긴 오차 보정)
+     * 다시 집계하는 범위는 settle 시간이 지난 시점이 속한 일자의 0시까지로 고정한다. 그 이후 이벤트는 모든 인스턴스의
+     * flush 로만 반영되므로, 아직 커밋/반영 중인 이벤트가 원본 집계와 미반영분에 함께 들어가 두 번 세어지지 않는다.
+     * 원본 집계를 마친 뒤 그 범위 일자의 미반영분만 버린다 (settle 시간보다 오래 걸린 트랜잭션은 오차로 남는다).
+     * flush 가 진행 중이면 끝날 때까지 기다린다.
+     */
+    public Mono<Void> reconcile() {
+        return exclusive(() -> {
+            LocalDate cutoff = LocalDateTime.now().minus(settle).toLocalDate();
+            LocalDate from = cutoff.minusDays(reconcileDays);
+
+            return databaseClient.sql("""
+                    INSERT INTO inventory_event_stats (event_type, warehouse_id, stat_date, event_count)
+                    SELECT event_type, warehouse_id, CAST(timestamp AS DATE), COUNT(*)
+                    FROM inventory_events
+                    WHERE timestamp >= :from AND timestamp < :cutoff
+                    GROUP BY event_type, warehouse_id, CAST(timestamp AS DATE)
+                    ON CONFLICT (event_type, warehouse_id, stat_date)
+                    DO UPDATE SET event_count = EXCLUDED.event_count
+                    """)
+                .bind("from", from.atStartOfDay())
+                .bind("cutoff", cutoff.atStartOfDay())
+                .fetch()
+                .rowsUpdated()
+                .doOnNext(updated -> {
+                    long discarded = discardPending(from, cutoff);
+                    log.info("재고 이벤트 통계 보정: {} ~ {} 이전, {}행 (미반영 {}건 재집계)", from, cutoff, updated, discarded);
+                })
+                .then(reloadTotals());
+        }).retryWhen(BUSY_RETRY);
+    }
+
+    /**
+     * [from, cutoff) 일자의 미반영 건수를 버림 (버린 건수 반환)
+     */
+    private long discardPending(LocalDate from, LocalDate cutoff) {
+        long discarded = 0;
+        for (Map.Entry<StatKey, LongAdder> entry : pending.entrySet()) {
+            LocalDate statDate = entry.getKey().statDate();
+            if (statDate.isBefore(from) || !statDate.isBefore(cutoff)) {
+                continue;
+            }
+            long count = entry.getValue().sumThenReset();
+            unflushedTotals.get(entry.getKey().eventType()).add(-count);
+            discarded += count;
+        }
+        return discarded;
+    }
+
+    private Mono<Void> reloadTotals() {
+        return databaseClient.sql("SELECT event_type, CAST(SUM(event_count) AS BIGINT) AS total FROM inventory_event_stats GROUP BY event_type")
+            .map(row -> Map.entry(row.get("event_type", String.class), row.get("total", Long.class)))
+            .all()
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+            .doOnNext(totals -> persistedTotals.forEach((type, persisted) ->
+                persisted.set(totals.getOrDefault(type.name(), 0L))))
+            .then();
+    }
+
+    /**
+     * writing 잠금을 잡고 실행 (이미 실행 중이면 StatisticsBusyException)
+     */
+    private <T> Mono<T> exclusive(Supplier<Mono<T>> work) {
+        return Mono.defer(() -> writing.compareAndSet(false, true)
+            ? work.get().doFinally(signal -> writing.set(false))
+            : Mono.error(new StatisticsBusyException()));
+    }
+
+    private static class StatisticsBusyException extends RuntimeException {
+
+        StatisticsBusyException() {
+            super("재고 이벤트 통계 작업이 실행 중입니다", null, false, false);
+        }
+    }
+
+    private record StatKey(InventoryEvent.EventType eventType, long warehouseId, LocalDate statDate) {
+    }
+
+    /**
+     * 일자/타입별 이벤트 건수
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DailyEventCount {
+        private LocalDate date;
+        private String eventType;
+        private Long count;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.reactive.domain.inventory_event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 재고 이벤트 실시간 스트림
+ * inventory_events INSERT 트리거가 발행하는 NOTIFY 를 하나의 전용 커넥션으로 LISTEN 하고,
+ * 공유 multicast sink 를 통해 모든 구독자에게 전달한다.
+ * 구독자마다 제한된 버퍼를 가지며, 느린 구독자는 가장 오래된 이벤트부터 버린다.
+ */
+@Slf4j
+@Service
+public class InventoryEventStreamService {
+
+    private static final String CHANNEL = "inventory_events";
+
+    private final ConnectionFactory connectionFactory;
+    private final ObjectMapper objectMapper;
+    private final int subscriberBufferSize;
+
+    private final Sinks.Many<InventoryEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final AtomicBoolean listening = new AtomicBoolean();
+    private Disposable listener;
+
+    public InventoryEventStreamService(
+        ConnectionFactory connectionFactory,
+        ObjectMapper objectMapper,
+        @Value("${inventory.events.stream.subscriber-buffer-size:256}") int subscriberBufferSize) {
+
+        this.connectionFactory = connectionFactory;
+        this.objectMapper = objectMapper;
+        this.subscriberBufferSize = subscriberBufferSize;
+    }
+
+    /**
+     * 조건에 맞는 이벤트 구독 (null 조건은 전체)
+     */
+    public Flux<InventoryEvent> stream(Long warehouseId, Long productId, InventoryEvent.EventType eventType) {
+        startListening();
+
+        return sink.asFlux()
+            .filter(event -> warehouseId == null || warehouseId.equals(event.getWarehouseId()))
+            .filter(event -> productId == null || productId.equals(event.getProductId()))
+            .filter(event -> eventType == null || eventType == event.getEventType())
+            .onBackpressureBuffer(subscriberBufferSize,
+                dropped -> log.debug("느린 구독자로 인해 이벤트 누락: 재고ID={}", dropped.getInventoryId()),
+                BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (listener != null) {
+            listener.dispose();
+        }
+    }
+
+    /**
+     * 첫 구독 시 LISTEN 시작 (연결이 끊기면 재연결)
+     */
+    private void startListening() {
+        if (!listening.compareAndSet(false, true)) {
+            return;
+        }
+
+        listener = listen()
+            .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                .maxBackoff(Duration.ofSeconds(30))
+                .doBeforeRetry(signal -> log.warn("재고 이벤트 LISTEN 재연결 시도: {}", signal.failure().getMessage())))
+            .repeatWhen(completed -> completed.delayElements(Duration.ofSeconds(1)))
+            .subscribe(sink::tryEmitNext);
+
+        log.info("재고 이벤트 LISTEN 시작: 채널={}", CHANNEL);
+    }
+
+    private Flux<InventoryEvent> listen() {
+        return Flux.usingWhen(
+                connectionFactory.create(),
+                connection -> {
+                    PostgresqlConnection postgresqlConnection = unwrap(connection);
+                    return postgresqlConnection.createStatement("LISTEN " + CHANNEL)
+                        .execute()
+                        .flatMap(PostgresqlResult::getRowsUpdated)
+                        .thenMany(postgresqlConnection.getNotifications());
+                },
+                Connection::close)
+            .mapNotNull(notification -> parse(notification.getParameter()));
+    }
+
+    /**
+     * 커넥션 풀 래퍼를 벗겨 PostgreSQL 커넥션 획득
+     */
+    private PostgresqlConnection unwrap(Connection connection) {
+        Object target = connection;
+        while (!(target instanceof PostgresqlConnection) && target instanceof Wrapped<?> wrapped) {
+            target = wrapped.unwrap();
+        }
+        return (PostgresqlConnection) target;
+    }
+
+    private InventoryEvent parse(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(payload, InventoryEvent.class);
+        } catch (JsonProcessingException e) {
+            log.warn("재고 이벤트 알림 파싱 실패: {}", payload, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.reactive.domain.inventory_event;
+
+import io.r2dbc.postgresql.codec.Json;
+
+/**
+ * 이벤트 메타데이터 전용 JSON writer (리플렉션/포맷 문자열 없이 StringBuilder 에 직접 기록)
+ * 키는 key() 로 미리 인코딩한 상수를 사용하고, null 값 필드는 생략한다.
+ */
+public final class MetadataJsonWriter {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final StringBuilder builder = new StringBuilder(128).append('{');
+    private boolean first = true;
+
+    /**
+     * 필드 이름을 `"name":` 형태로 미리 인코딩
+     */
+    public static String key(String name) {
+        StringBuilder encoded = new StringBuilder(name.length() + 3);
+        appendQuoted(encoded, name);
+        return encoded.append(':').toString();
+    }
+
+    public MetadataJsonWriter field(String encodedKey, String value) {
+        if (value != null) {
+            appendKey(encodedKey);
+            appendQuoted(builder, value);
+        }
+        return this;
+    }
+
+    public MetadataJsonWriter field(String encodedKey, Double value) {
+        if (value != null) {
+            appendKey(encodedKey);
+            if (value.isNaN() || value.isInfinite()) {
+                builder.append("null");
+            } else {
+                builder.append(value.doubleValue());
+            }
+        }
+        return this;
+    }
+
+    public MetadataJsonWriter field(String encodedKey, Long value) {
+        if (value != null) {
+            appendKey(encodedKey);
+            builder.append(value.longValue());
+        }
+        return this;
+    }
+
+    public MetadataJsonWriter field(String encodedKey, Integer value) {
+        if (value != null) {
+            appendKey(encodedKey);
+            builder.append(value.intValue());
+        }
+        return this;
+    }
+
+    public Json toJson() {
+        return Json.of(toString());
+    }
+
+    @Override
+    public String toString() {
+        return builder.toString() + '}';
+    }
+
+    private void appendKey(String encodedKey) {
+        if (!first) {
+            builder.append(',');
+        }
+        first = false;
+        builder.append(encodedKey);
+    }
+
+    private static void appendQuoted(StringBuilder target, String value) {
+        target.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> target.append("\\\"");
+                case '\\' -> target.append("\\\\");
+                case '\n' -> target.append("\\n");
+                case '\r' -> target.append("\\r");
+                case '\t' -> target.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        target.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        target.append(c);
+                    }
+                }
+            }
+        }
+        target.append('"');
+    }
+}
@@ -1,12 +1,15 @@
 package com.example.reactive.domain.notification;
 
+import com.example.reactive.global.util.Rows;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Slf4j
 @Service
@@ -14,6 +17,7 @@ import java.time.LocalDateTime;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final DatabaseClient databaseClient;
 
     /**
      * 알림 생성
@@ -105,6 +109,21 @@ public class NotificationService {
         String unit,
         Long autoOrderId) {
 
+        Notification notification = buildThresholdAlert(userId, productName, currentQuantity, unit, autoOrderId);
+
+        return createNotification(userId, notification.getTitle(), notification.getMessage(), notification.getNotificationType());
+    }
+
+    /**
+     * 재고 부족 알림 객체 생성 (저장하지 않음)
+     */
+    public Notification buildThresholdAlert(
+        Long userId,
+        String productName,
+        Double currentQuantity,
+        String unit,
+        Long autoOrderId) {
+
         String title = "재고 부족 알림";
         String message = String.format(
             "상품 '%s'의 재고가 부족합니다.\n" +
@@ -113,7 +132,7 @@ public class NotificationService {
             productName, currentQuantity, unit, autoOrderId
         );
 
-        return createNotification(userId, title, message, Notification.NotificationType.THRESHOLD_ALERT);
+        return build(userId, title, message, Notification.NotificationType.THRESHOLD_ALERT);
     }
 
     /**
@@ -127,6 +146,22 @@ public class NotificationService {
         Double quantity,
         String unit) {
 
+        Notification notification = buildExpiryAlert(userId, productName, expiryDate, location, quantity, unit);
+
+        return createNotification(userId, notification.getTitle(), notification.getMessage(), notification.getNotificationType());
+    }
+
+    /**
+     * 유통기한 알림 객체 생성 (저장하지 않음)
+     */
+    public Notification buildExpiryAlert(
+        Long userId,
+        String productName,
+        LocalDateTime expiryDate,
+        String location,
+        Double quantity,
+        String unit) {
+
         String title = "유통기한 임박 알림";
         String message = String.format(
             "상품 '%s'의 유통기한이 임박했습니다.\n" +
@@ -136,7 +171,7 @@ public class NotificationService {
             productName, expiryDate.toLocalDate(), quantity, unit, location
         );
 
-        return createNotification(userId, title, message, Notification.NotificationType.EXPIRY_ALERT);
+        return build(userId, title, message, Notification.NotificationType.EXPIRY_ALERT);
     }
 
     /**
@@ -149,4 +184,65 @@ public class NotificationService {
 
         return createNotification(userId, title, message, Notification.NotificationType.SYSTEM_NOTIFICATION);
     }
-}
\ No newline at end of file
+
+    /**
+     * 알림 다건 생성 (단일 multi-row INSERT, 저장된 알림 반환)
+     */
+    public Flux<Notification> createNotifications(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return Flux.empty();
+        }
+        int size = notifications.size();
+        Long[] userIds = new Long[size];
+        String[] titles = new String[size];
+        String[] messages = new String[size];
+        String[] types = new String[size];
+        LocalDateTime[] createdAts = new LocalDateTime[size];
+        for (int i = 0; i < size; i++) {
+            Notification notification = notifications.get(i);
+            userIds[i] = notification.getUserId();
+            titles[i] = notification.getTitle();
+            messages[i] = notification.getMessage();
+            types[i] = notification.getNotificationType().name();
+            createdAts[i] = notification.getCreatedAt();
+        }
+
+        return databaseClient.sql("""
+                INSERT INTO notifications (user_id, title, message, type, is_read, created_at)
+                SELECT t.user_id, t.title, t.message, t.type, FALSE, t.created_at
+                FROM unnest(
+                    CAST(:userIds AS BIGINT[]),
+                    CAST(:titles AS VARCHAR[]),
+                    CAST(:messages AS TEXT[]),
+                    CAST(:types AS VARCHAR[]),
+                    CAST(:createdAts AS TIMESTAMP[])) AS t(user_id, title, message, type, created_at)
+                RETURNING id, user_id, title, message, type, is_read, created_at
+                """)
+            .bind("userIds", userIds)
+            .bind("titles", titles)
+            .bind("messages", messages)
+            .bind("types", types)
+            .bind("createdAts", createdAts)
+            .map(row -> Notification.builder()
+                .id(Rows.getLong(row, "id"))
+                .userId(Rows.getLong(row, "user_id"))
+                .title(Rows.getString(row, "title"))
+                .message(Rows.getString(row, "message"))
+                .notificationType(Notification.NotificationType.valueOf(Rows.getString(row, "type")))
+                .isRead(row.get("is_read", Boolean.class))
+                .createdAt(Rows.getDateTime(row, "created_at"))
+                .build())
+            .all();
+    }
+
+    private Notification build(Long userId, String title, String message, Notification.NotificationType type) {
+        return Notification.builder()
+            .userId(userId)
+            .title(title)
+            .message(message)
+            .notificationType(type)
+            .isRead(false)
+            .createdAt(LocalDateTime.now())
+            .build();
+    }
+}
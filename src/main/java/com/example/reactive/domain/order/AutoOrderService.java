@@ -0,0 +1,325 @@
+package com.example.reactive.domain.order;
+
+import com.example.reactive.domain.inventory.InventoryAnalysisService;
+import com.example.reactive.domain.inventory.InventoryAnalysisService.ReorderItem;
+import com.example.reactive.domain.inventory.ReorderCandidateSnapshotService;
+import com.example.reactive.domain.inventory.ReorderTrigger;
+import com.example.reactive.domain.inventory_event.EventMetadata;
+import com.example.reactive.domain.inventory_event.InventoryEvent;
+import com.example.reactive.domain.inventory_event.InventoryEventService;
+import com.example.reactive.domain.notification.Notification;
+import com.example.reactive.domain.notification.NotificationService;
+import com.example.reactive.global.util.Rows;
+import com.example.reactive.global.util.WarehouseShard;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Row;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * 자동 발주 / 유통기한 알림 파이프라인
+ * 대상을 batchSize 건씩 묶고, 묶음마다 공급업체 조회 1회, 발주 INSERT 1회(+ 알림 이벤트 INSERT 1회, 한 트랜잭션),
+ * 사용자 알림 INSERT 1회로 처리한다. 동시에 처리하는 묶음 수는 concurrency 로 제한한다.
+ * 전체 점검 대상은 ReorderCandidateSnapshotService 의 스냅샷을 공유하고, 유통기한/임계값 돌파 대상은 조회 결과를 스트리밍으로 처리한다.
+ * 단계별 소요 시간과 처리 건수는 auto.order.stage.* 지표로 기록한다.
+ */
+@Slf4j
+@Service
+public class AutoOrderService implements ReorderTrigger {
+
+    private static final String STAGE_SUPPLIER_LOOKUP = "supplier_lookup";
+    private static final String STAGE_ORDER_INSERT = "order_insert";
+    private static final String STAGE_NOTIFICATION = "notification";
+    private static final List<String> STAGES =
+        List.of(STAGE_SUPPLIER_LOOKUP, STAGE_ORDER_INSERT, STAGE_NOTIFICATION);
+
+    private final InventoryAnalysisService analysisService;
+    private final ReorderCandidateSnapshotService candidateSnapshotService;
+    private final InventoryEventService eventService;
+    private final NotificationService notificationService;
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    private final int batchSize;
+    private final int concurrency;
+    private final long requestedBy;
+    private final long notifyUserId;
+    private final long leadTimeDays;
+
+    private final Counter candidateCounter;
+    private final Map<String, Timer> stageLatency = new HashMap<>();
+    private final Map<String, Counter> stageItems = new HashMap<>();
+
+    public AutoOrderService(
+        InventoryAnalysisService analysisService,
+        ReorderCandidateSnapshotService candidateSnapshotService,
+        InventoryEventService eventService,
+        NotificationService notificationService,
+        DatabaseClient databaseClient,
+        TransactionalOperator transactionalOperator,
+        MeterRegistry meterRegistry,
+        @Value("${inventory.auto-order.batch-size:200}") int batchSize,
+        @Value("${inventory.auto-order.concurrency:4}") int concurrency,
+        @Value("${inventory.auto-order.requested-by:1}") long requestedBy,
+        @Value("${inventory.auto-order.notify-user-id:1}") long notifyUserId,
+        @Value("${inventory.auto-order.lead-time-days:3}") long leadTimeDays) {
+
+        this.analysisService = analysisService;
+        this.candidateSnapshotService = candidateSnapshotService;
+        this.eventService = eventService;
+        this.notificationService = notificationService;
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.requestedBy = requestedBy;
+        this.notifyUserId = notifyUserId;
+        this.leadTimeDays = leadTimeDays;
+
+        this.candidateCounter = Counter.builder("auto.order.candidates")
+            .description("읽어 들인 재발주 대상 수")
+            .register(meterRegistry);
+        for (String stage : STAGES) {
+            stageLatency.put(stage, Timer.builder("auto.order.stage.latency")
+                .description("자동 발주 단계별 묶음 처리 시간")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+            stageItems.put(stage, Counter.builder("auto.order.stage.items")
+                .description("자동 발주 단계별 처리 건수")
+                .tag("stage", stage)
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 재발주가 필요한 전체 재고의 자동 발주 생성
+     */
+    public Flux<PurchaseOrder> checkAndCreateAutoOrders() {
+        return checkAndCreateAutoOrders(WarehouseShard.ALL);
+    }
+
+    /**
+     * 창고 구간의 자동 발주 생성 (클러스터 분할 실행용)
+     */
+    public Flux<PurchaseOrder> checkAndCreateAutoOrders(WarehouseShard shard) {
+        return candidateSnapshotService.getSnapshot(shard)
+            .flatMapMany(snapshot -> createOrders(Flux.fromIterable(snapshot.all()), true));
+    }
+
+    /**
+     * 창고 구간의 긴급 대상(재주문점의 50% 이하)만 자동 발주 생성
+     */
+    public Flux<PurchaseOrder> createEmergencyOrders(WarehouseShard shard) {
+        return candidateSnapshotService.getSnapshot(shard)
+            .flatMapMany(snapshot -> createOrders(Flux.fromIterable(snapshot.getEmergency()), true));
+    }
+
+    /**
+     * 임계값 하향 돌파 재고의 자동 발주 생성 (알림 이벤트는 감지 시점에 이미 기록됨)
+     */
+    @Override
+    public Mono<Long> reorder(Collection<Long> inventoryIds) {
+        if (inventoryIds.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return createOrders(analysisService.getItemsNeedReorder(inventoryIds), false).count();
+    }
+
+    private Flux<PurchaseOrder> createOrders(Flux<ReorderItem> candidates, boolean emitAlertEvents) {
+        return candidates
+            .doOnNext(item -> candidateCounter.increment())
+            .filter(item -> item.getSuggestedOrderQuantity() != null && item.getSuggestedOrderQuantity() > 0)
+            .buffer(batchSize)
+            .flatMap(batch -> processBatch(batch, emitAlertEvents), concurrency)
+            .flatMapIterable(orders -> orders);
+    }
+
+    /**
+     * 묶음 처리: 공급업체 조회 → 발주 INSERT (+ 알림 이벤트) → 사용자 알림
+     */
+    private Mono<List<PurchaseOrder>> processBatch(List<ReorderItem> batch, boolean emitAlertEvents) {
+        Map<String, ReorderItem> itemsByKey = new HashMap<>();
+        batch.forEach(item -> itemsByKey.put(key(item.getProductId(), item.getWarehouseId()), item));
+
+        return timed(STAGE_SUPPLIER_LOOKUP, findSupplierIds(batch), Map::size)
+            .flatMap(supplierIds -> timed(STAGE_ORDER_INSERT,
+                insertOrders(batch, supplierIds)
+                    .flatMap(orders -> emitAlertEvents
+                        ? eventService.createEventsWithDetails(toAlertEvents(orders, itemsByKey)).thenReturn(orders)
+                        : Mono.just(orders))
+                    .as(transactionalOperator::transactional),
+                List::size))
+            .flatMap(orders -> timed(STAGE_NOTIFICATION,
+                notificationService.createNotifications(orders.stream()
+                        .map(order -> toThresholdNotification(order, itemsByKey.get(key(order.getProductId(), order.getWarehouseId()))))
+                        .toList())
+                    .collectList(),
+                List::size)
+                .thenReturn(orders))
+            .doOnNext(orders -> log.info("자동 발주 묶음 처리: 대상 {}건, 발주 {}건", batch.size(), orders.size()));
+    }
+
+    /**
+     * 묶음의 공급업체명 → 공급업체 id (활성 공급업체만)
+     */
+    private Mono<Map<String, Long>> findSupplierIds(List<ReorderItem> batch) {
+        String[] supplierNames = batch.stream()
+            .map(ReorderItem::getSupplierName)
+            .filter(Objects::nonNull)
+            .distinct()
+            .toArray(String[]::new);
+        if (supplierNames.length == 0) {
+            return Mono.just(Map.of());
+        }
+
+        return databaseClient.sql("""
+                SELECT id, supplier_name
+                FROM suppliers
+                WHERE supplier_name = ANY(:supplierNames)
+                AND is_active = TRUE
+                """)
+            .bind("supplierNames", supplierNames)
+            .map(row -> Map.entry(Rows.getString(row, "supplier_name"), Rows.getLong(row, "id")))
+            .all()
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue, HashMap::new);
+    }
+
+    /**
+     * 발주 다건 INSERT (진행 중인 발주가 이미 있거나 동시에 생긴 재고는 uq_purchase_orders_open_product_warehouse 충돌로 건너뜀)
+     */
+    private Mono<List<PurchaseOrder>> insertOrders(List<ReorderItem> batch, Map<String, Long> supplierIds) {
+        int size = batch.size();
+        Long[] supplierIdArray = new Long[size];
+        Long[] productIds = new Long[size];
+        Long[] warehouseIds = new Long[size];
+        Double[] quantities = new Double[size];
+        Double[] unitPrices = new Double[size];
+        String[] orderTypes = new String[size];
+        String[] notes = new String[size];
+
+        for (int i = 0; i < size; i++) {
+            ReorderItem item = batch.get(i);
+            boolean emergency = ReorderCandidateSnapshotService.isEmergency(item);
+            supplierIdArray[i] = item.getSupplierName() != null ? supplierIds.get(item.getSupplierName()) : null;
+            productIds[i] = item.getProductId();
+            warehouseIds[i] = item.getWarehouseId();
+            quantities[i] = item.getSuggestedOrderQuantity();
+            unitPrices[i] = item.getUnitPrice();
+            orderTypes[i] = (emergency ? PurchaseOrder.OrderType.EMERGENCY : PurchaseOrder.OrderType.AUTOMATIC).name();
+            notes[i] = String.format("자동 발주 (현재 재고: %.2f, 재주문점: %.2f)", item.getCurrentQuantity(), item.getReorderPoint());
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        return databaseClient.sql("""
+                INSERT INTO purchase_orders
+                    (supplier_id, product_id, warehouse_id, requested_by, requested_quantity, unit_price, total_amount,
+                     status, order_type, notes, requested_at, expected_delivery_date, created_at, updated_at)
+                SELECT t.supplier_id, t.product_id, t.warehouse_id, :requestedBy, t.quantity, t.unit_price,
+                       t.quantity * t.unit_price, 'PENDING', t.order_type, t.notes, :now, :expectedDeliveryDate, :now, :now
+                FROM unnest(
+                    CAST(:supplierIds AS BIGINT[]),
+                    CAST(:productIds AS BIGINT[]),
+                    CAST(:warehouseIds AS BIGINT[]),
+                    CAST(:quantities AS DECIMAL[]),
+                    CAST(:unitPrices AS DECIMAL[]),
+                    CAST(:orderTypes AS VARCHAR[]),
+                    CAST(:notes AS TEXT[])) AS t(supplier_id, product_id, warehouse_id, quantity, unit_price, order_type, notes)
+                ON CONFLICT (product_id, warehouse_id) WHERE status IN ('PENDING', 'SENT', 'CONFIRMED', 'IN_TRANSIT')
+                DO NOTHING
+                RETURNING *
+                """)
+            .bind("requestedBy", requestedBy)
+            .bind("now", now)
+            .bind("expectedDeliveryDate", now.plusDays(leadTimeDays))
+            .bind("supplierIds", supplierIdArray)
+            .bind("productIds", productIds)
+            .bind("warehouseIds", warehouseIds)
+            .bind("quantities", quantities)
+            .bind("unitPrices", unitPrices)
+            .bind("orderTypes", orderTypes)
+            .bind("notes", notes)
+            .map(this::toOrder)
+            .all()
+            .collectList();
+    }
+
+    private List<InventoryEvent> toAlertEvents(List<PurchaseOrder> orders, Map<String, ReorderItem> itemsByKey) {
+        List<InventoryEvent> events = new ArrayList<>(orders.size());
+        for (PurchaseOrder order : orders) {
+            ReorderItem item = itemsByKey.get(key(order.getProductId(), order.getWarehouseId()));
+            boolean emergency = order.getOrderType() == PurchaseOrder.OrderType.EMERGENCY;
+            EventMetadata metadata = new EventMetadata.ThresholdAlert(
+                emergency ? "CRITICAL" : "WARNING", item.getReorderPoint(), order.getId(), "자동 발주 생성");
+
+            events.add(eventService.buildEventWithDetails(
+                item.getInventoryId(),
+                item.getProductId(),
+                item.getWarehouseId(),
+                InventoryEvent.EventType.THRESHOLD_ALERT,
+                item.getCurrentQuantity(),
+                item.getCurrentQuantity(),
+                metadata
+            ));
+        }
+        return events;
+    }
+
+    private Notification toThresholdNotification(PurchaseOrder order, ReorderItem item) {
+        return notificationService.buildThresholdAlert(
+            notifyUserId, item.getProductName(), item.getCurrentQuantity(), item.getUnit(), order.getId());
+    }
+
+    private PurchaseOrder toOrder(Row row) {
+        return PurchaseOrder.builder()
+            .id(Rows.getLong(row, "id"))
+            .supplierId(Rows.getLong(row, "supplier_id"))
+            .productId(Rows.getLong(row, "product_id"))
+            .warehouseId(Rows.getLong(row, "warehouse_id"))
+            .requestedBy(Rows.getLong(row, "requested_by"))
+            .requestedQuantity(Rows.getDouble(row, "requested_quantity"))
+            .unitPrice(Rows.getDouble(row, "unit_price"))
+            .totalAmount(Rows.getDouble(row, "total_amount"))
+            .status(PurchaseOrder.OrderStatus.valueOf(Rows.getString(row, "status")))
+            .orderType(PurchaseOrder.OrderType.valueOf(Rows.getString(row, "order_type")))
+            .notes(Rows.getString(row, "notes"))
+            .requestedAt(Rows.getDateTime(row, "requested_at"))
+            .expectedDeliveryDate(Rows.getDateTime(row, "expected_delivery_date"))
+            .createdAt(Rows.getDateTime(row, "created_at"))
+            .updatedAt(Rows.getDateTime(row, "updated_at"))
+            .build();
+    }
+
+    /**
+     * 단계 소요 시간 / 처리 건수 기록
+     */
+    private <T> Mono<T> timed(String stage, Mono<T> source, ToIntFunction<T> itemCount) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return source.doOnNext(result -> {
+                stageLatency.get(stage).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                stageItems.get(stage).increment(itemCount.applyAsInt(result));
+            });
+        });
+    }
+
+    private static String key(Long productId, Long warehouseId) {
+        return productId + ":" + warehouseId;
+    }
+}
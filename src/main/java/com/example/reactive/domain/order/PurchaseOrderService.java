@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
@@ -22,7 +23,7 @@ public class PurchaseOrderService {
     private final InventoryService inventoryService;
 
     /**
-     * 수동 발주 생성
+     * 수동 발주 생성 (같은 창고/상품에 진행 중인 발주가 있으면 실패)
      */
     @Transactional
     public Mono<PurchaseOrder> createManualOrder(CreateOrderRequest request) {
@@ -43,6 +44,7 @@ public class PurchaseOrderService {
             .build();
 
         return orderRepository.save(order)
+            .onErrorMap(DataIntegrityViolationException.class, error -> openOrderExists(order))
             .doOnNext(savedOrder -> log.info("수동 발주 생성: {}", savedOrder.getId()));
     }
 
@@ -61,10 +63,19 @@ public class PurchaseOrderService {
                     order.setActualDeliveryDate(LocalDateTime.now());
                 }
 
-                return orderRepository.save(order);
+                return orderRepository.save(order)
+                    .onErrorMap(DataIntegrityViolationException.class, error -> openOrderExists(order));
             });
     }
 
+    /**
+     * 진행 중 발주 중복 (uq_purchase_orders_open_product_warehouse 위반)
+     */
+    private static IllegalStateException openOrderExists(PurchaseOrder order) {
+        return new IllegalStateException(
+            "진행 중인 발주가 이미 있습니다. 창고: " + order.getWarehouseId() + ", 상품: " + order.getProductId());
+    }
+
     /**
      * 납품 완료 처리 (재고 자동 증가) - 수정된 버전
      */
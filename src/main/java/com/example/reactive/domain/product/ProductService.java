@@ -1,9 +1,12 @@
 package com.example.reactive.domain.product;
 
+import com.example.reactive.domain.inventory.InventoryValuationService;
+import com.example.reactive.domain.inventory.WarehouseStatisticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import java.time.LocalDateTime;
@@ -15,24 +18,28 @@ import java.util.Map;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final WarehouseStatisticsService warehouseStatisticsService;
+    private final InventoryValuationService valuationService;
+    private final TransactionalOperator transactionalOperator;
 
     /**
-     * 상품 생성
+     * 상품 생성 (재고 통계/가치는 커밋 후 반영)
      */
-    @Transactional
     public Mono<Product> createProduct(Product product) {
         product.setCreatedAt(LocalDateTime.now());
         product.setUpdatedAt(LocalDateTime.now());
 
         return productRepository.save(product)
-            .doOnNext(savedProduct -> log.info("상품 생성: ID={}, 이름={}",
-                savedProduct.getId(), savedProduct.getProductName()));
+            .as(transactionalOperator::transactional)
+            .doOnNext(savedProduct -> {
+                onProductChanged(savedProduct);
+                log.info("상품 생성: ID={}, 이름={}", savedProduct.getId(), savedProduct.getProductName());
+            });
     }
 
     /**
-     * 상품 수정
+     * 상품 수정 (재고 통계/가치는 커밋 후 반영)
      */
-    @Transactional
     public Mono<Product> updateProduct(Long productId, Product updatedProduct) {
         return productRepository.findById(productId)
             .flatMap(existingProduct -> {
@@ -45,7 +52,11 @@ public class ProductService {
 
                 return productRepository.save(existingProduct);
             })
-            .doOnNext(savedProduct -> log.info("상품 수정: ID={}", savedProduct.getId()));
+            .as(transactionalOperator::transactional)
+            .doOnNext(savedProduct -> {
+                onProductChanged(savedProduct);
+                log.info("상품 수정: ID={}", savedProduct.getId());
+            });
     }
 
     /**
@@ -123,4 +134,12 @@ public class ProductService {
         return productRepository.deleteById(productId)
             .doOnSuccess(unused -> log.info("상품 삭제: ID={}", productId));
     }
+
+    /**
+     * 상품 가격/카테고리 변경 후처리 (재고 통계, 재고 가치)
+     */
+    private void onProductChanged(Product product) {
+        warehouseStatisticsService.onPriceChanged(product.getId(), product.getPrice());
+        valuationService.onProductChanged(product.getId(), product.getPrice(), product.getCategory());
+    }
 }
@@ -0,0 +1,44 @@
+package com.example.reactive.global.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import io.r2dbc.postgresql.codec.Json;
+import java.io.IOException;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /*
+    * PostgreSQL JSONB 값(Json) 을 API 응답에는 문자열이 아닌 JSON 그대로 기록하고,
+    * 요청/NOTIFY payload 에서는 JSON 객체 또는 JSON 문자열 모두 Json 으로 읽는다.
+    * */
+    @Bean
+    public Module postgresJsonModule() {
+        SimpleModule module = new SimpleModule("postgres-json");
+        module.addSerializer(Json.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(Json value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+                generator.writeRawValue(value.asString());
+            }
+        });
+        module.addDeserializer(Json.class, new JsonDeserializer<>() {
+            @Override
+            public Json deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+                if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                    return Json.of(parser.getText());
+                }
+                return Json.of(parser.readValueAsTree().toString());
+            }
+        });
+        return module;
+    }
+}
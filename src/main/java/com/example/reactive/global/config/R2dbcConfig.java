@@ -60,6 +60,11 @@ public class R2dbcConfig extends AbstractR2dbcConfiguration {
 
         CompositeDatabasePopulator populator = new CompositeDatabasePopulator();
         populator.addPopulators(new ResourceDatabasePopulator(new ClassPathResource("schema.sql")));
+
+        // 함수/트리거 정의 (본문에 ';' 가 포함되어 별도 구분자 사용)
+        ResourceDatabasePopulator functionPopulator = new ResourceDatabasePopulator(new ClassPathResource("schema-functions.sql"));
+        functionPopulator.setSeparator(";;");
+        populator.addPopulators(functionPopulator);
         initializer.setDatabasePopulator(populator);
 
         return initializer;
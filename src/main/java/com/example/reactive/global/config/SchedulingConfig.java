@@ -0,0 +1,14 @@
+package com.example.reactive.global.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 스케줄 작업 활성화 (inventory.scheduling.enabled=false 이면 @Scheduled 작업이 실행되지 않음)
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "inventory.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
@@ -0,0 +1,28 @@
+package com.example.reactive.global.scheduler;
+
+import com.example.reactive.domain.forecast.DemandForecastService;
+import com.example.reactive.domain.inventory.ThresholdCrossingDetector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DemandForecastScheduler {
+
+    private final DemandForecastService forecastService;
+    private final ThresholdCrossingDetector thresholdDetector;
+
+    /**
+     * 매일 새벽 2시 30분 전일까지의 출고량으로 수요 예측 갱신 (갱신 후 임계값 감지의 재주문점도 다시 적재)
+     */
+    @Scheduled(cron = "0 30 2 * * *")
+    public void nightlyForecastUpdate() {
+        forecastService.update()
+            .then(thresholdDetector.reloadReorderPoints())
+            .doOnError(error -> log.error("수요 예측 갱신 중 오류 발생", error))
+            .subscribe();
+    }
+}
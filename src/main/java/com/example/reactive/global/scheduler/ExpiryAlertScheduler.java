@@ -0,0 +1,25 @@
+package com.example.reactive.global.scheduler;
+
+import com.example.reactive.domain.inventory.ExpiryAlertTracker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExpiryAlertScheduler {
+
+    private final ExpiryAlertTracker expiryAlertTracker;
+
+    /**
+     * 설정된 간격(기본 1초)마다 경계를 지난 유통기한 알림 생성 (heap 최상단만 확인하므로 대부분 DB 접근 없음)
+     */
+    @Scheduled(fixedDelayString = "${inventory.expiry.tick-ms:1000}")
+    public void fireDueAlerts() {
+        expiryAlertTracker.fireDue()
+            .doOnError(error -> log.error("유통기한 알림 생성 중 오류 발생", error))
+            .subscribe();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.reactive.global.scheduler;
+
+import com.example.reactive.domain.inventory_event.InventoryEventPartitionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryEventPartitionScheduler {
+
+    private static final String PARTITION_MAINTENANCE = "inventoryEventPartitionMaintenance";
+
+    private final InventoryEventPartitionService partitionService;
+    private final JobLeaseService jobLeaseService;
+
+    /**
+     * 매일 새벽 2시에 재고 이벤트 파티션 유지보수 (다음 달 파티션 생성, 만료 파티션 보관)
+     * 파티션 분리/삭제는 여러 노드가 동시에 실행하면 안 되므로 회차당 한 노드만 실행한다.
+     */
+    @Scheduled(cron = "0 0 2 * * *")
+    public void dailyPartitionMaintenance() {
+        log.info("재고 이벤트 파티션 유지보수 시작");
+
+        jobLeaseService.runExclusive(PARTITION_MAINTENANCE, Duration.ofDays(1), shard -> partitionService.maintainPartitions())
+            .doOnNext(partition -> log.debug("파티션 처리: {}", partition))
+            .doOnError(error -> log.error("재고 이벤트 파티션 유지보수 중 오류 발생", error))
+            .subscribe();
+    }
+}
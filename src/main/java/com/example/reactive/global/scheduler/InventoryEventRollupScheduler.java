@@ -0,0 +1,26 @@
+package com.example.reactive.global.scheduler;
+
+import com.example.reactive.domain.inventory_event.InventoryEventRollupService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryEventRollupScheduler {
+
+    private final InventoryEventRollupService rollupService;
+
+    /**
+     * 설정된 간격(기본 5분)마다 완료된 시간 구간을 롤업
+     */
+    @Scheduled(fixedDelayString = "${inventory.events.rollup.interval-ms:300000}")
+    public void periodicRollup() {
+        rollupService.rollUp()
+            .doOnNext(watermark -> log.debug("재고 이벤트 롤업 watermark: {}", watermark))
+            .doOnError(error -> log.error("재고 이벤트 롤업 중 오류 발생", error))
+            .subscribe();
+    }
+}
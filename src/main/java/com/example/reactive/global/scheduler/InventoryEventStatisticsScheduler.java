@@ -0,0 +1,37 @@
+package com.example.reactive.global.scheduler;
+
+import com.example.reactive.domain.inventory_event.InventoryEventStatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryEventStatisticsScheduler {
+
+    private final InventoryEventStatisticsService statisticsService;
+
+    /**
+     * 미반영 이벤트 통계를 통계 테이블에 반영
+     */
+    @Scheduled(fixedDelayString = "${inventory.events.stats.flush-interval-ms:5000}")
+    public void flushStatistics() {
+        statisticsService.flush()
+            .doOnError(error -> log.error("재고 이벤트 통계 반영 중 오류 발생", error))
+            .subscribe();
+    }
+
+    /**
+     * 매시 30분에 최근 이벤트 통계 보정
+     */
+    @Scheduled(cron = "0 30 * * * *")
+    public void hourlyStatisticsReconcile() {
+        log.info("재고 이벤트 통계 보정 시작");
+
+        statisticsService.reconcile()
+            .doOnError(error -> log.error("재고 이벤트 통계 보정 중 오류 발생", error))
+            .subscribe();
+    }
+}
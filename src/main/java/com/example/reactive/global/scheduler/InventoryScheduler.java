@@ -1,18 +1,56 @@
 package com.example.reactive.global.scheduler;
 
+import com.example.reactive.domain.inventory.ExpiryAlertTracker;
 import com.example.reactive.domain.order.AutoOrderService;
-import com.example.reactive.domain.order.PurchaseOrder;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import java.time.Duration;
 
+/**
+ * 재고 점검 스케줄
+ * 각 작업은 JobRuntime 에 등록되어 겹침 방지/취소/지표가 적용되고, 관리 API(/api/admin/jobs)로도 실행할 수 있다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class InventoryScheduler {
 
+    public static final String DAILY_INVENTORY_CHECK = "dailyInventoryCheck";
+    public static final String DAILY_EXPIRY_CHECK = "dailyExpiryCheck";
+    public static final String EMERGENCY_CHECK = "hourlyEmergencyCheck";
+
     private final AutoOrderService autoOrderService;
+    private final ExpiryAlertTracker expiryAlertTracker;
+    private final JobLeaseService jobLeaseService;
+    private final JobRuntime jobRuntime;
+
+    @Value("${inventory.threshold.safety-scan-interval-ms:21600000}")
+    private long safetyScanIntervalMs;
+
+    @PostConstruct
+    public void registerJobs() {
+        // 여러 노드로 실행해도 회차마다 (창고 구간별로) 한 노드만 발주를 만든다
+        jobRuntime.register(DAILY_INVENTORY_CHECK, JobRuntime.OverlapPolicy.SKIP, trigger ->
+            jobLeaseService.runSharded(DAILY_INVENTORY_CHECK, round(trigger, Duration.ofDays(1)), autoOrderService::checkAndCreateAutoOrders)
+                .doOnNext(order -> log.info("자동 발주 완료: {}", order.getId()))
+                .doOnError(error -> log.error("자동 발주 중 오류 발생", error)));
+
+        // 유통기한 알림은 ExpiryAlertTracker 가 경계 시각에 만들고, 이 작업은 추적을 DB 기준으로 다시 맞추는 안전망
+        jobRuntime.register(DAILY_EXPIRY_CHECK, JobRuntime.OverlapPolicy.SKIP, trigger ->
+            jobLeaseService.runSharded(DAILY_EXPIRY_CHECK, round(trigger, Duration.ofDays(1)), expiryAlertTracker::resync)
+                .doOnNext(count -> log.info("유통기한 추적 재확인: {}건", count))
+                .doOnError(error -> log.error("유통기한 체크 중 오류 발생", error)));
+
+        // 긴급 재고 체크 로직 (재고가 재주문점의 50% 이하인 대상만 발주), 실행 중에 다시 요청되면 끝난 뒤 한 번 더 확인
+        jobRuntime.register(EMERGENCY_CHECK, JobRuntime.OverlapPolicy.QUEUE, trigger ->
+            jobLeaseService.runSharded(EMERGENCY_CHECK, round(trigger, Duration.ofMillis(safetyScanIntervalMs)), autoOrderService::createEmergencyOrders)
+                .doOnNext(order -> log.warn("긴급 발주 생성: {}", order.getId()))
+                .doOnError(error -> log.error("긴급 재고 체크 중 오류 발생", error)));
+    }
 
     /**
      * 매일 오전 9시에 재고 체크 및 자동 발주 실행
@@ -20,37 +58,34 @@ public class InventoryScheduler {
     @Scheduled(cron = "0 0 9 * * *")
     public void dailyInventoryCheck() {
         log.info("일일 재고 체크 스케줄 시작");
-
-        autoOrderService.checkAndCreateAutoOrders()
-            .doOnNext(order -> log.info("자동 발주 완료: {}", order.getId()))
-            .doOnError(error -> log.error("자동 발주 중 오류 발생", error))
-            .subscribe();
+        jobRuntime.trigger(DAILY_INVENTORY_CHECK, JobRuntime.TRIGGER_SCHEDULE);
     }
 
     /**
-     * 매일 오후 6시에 유통기한 체크
+     * 매일 오후 6시에 유통기한 추적 재확인 (놓친 유통기한 변경 보정)
      */
     @Scheduled(cron = "0 0 18 * * *")
     public void dailyExpiryCheck() {
         log.info("일일 유통기한 체크 스케줄 시작");
-
-        autoOrderService.checkExpiryAlerts()
-            .doOnNext(notification -> log.info("유통기한 알림 발송: {}", notification.getId()))
-            .doOnError(error -> log.error("유통기한 체크 중 오류 발생", error))
-            .subscribe();
+        jobRuntime.trigger(DAILY_EXPIRY_CHECK, JobRuntime.TRIGGER_SCHEDULE);
     }
 
     /**
-     * 매 시간마다 긴급 재고 체크 (재고가 0에 가까운 경우)
+     * 긴급 재고 체크 (재고가 0에 가까운 경우)
+     * 임계값 하향 돌파는 출고 시점에 ThresholdCrossingDetector 가 처리하므로, 놓친 항목을 잡는 안전망으로 낮은 빈도(기본 6시간)로 실행한다.
      */
-    @Scheduled(fixedRate = 3600000) // 1시간마다
+    @Scheduled(
+        fixedRateString = "${inventory.threshold.safety-scan-interval-ms:21600000}",
+        initialDelayString = "${inventory.threshold.safety-scan-interval-ms:21600000}")
     public void hourlyEmergencyCheck() {
         log.info("시간별 긴급 재고 체크 시작");
+        jobRuntime.trigger(EMERGENCY_CHECK, JobRuntime.TRIGGER_SCHEDULE);
+    }
 
-        // 긴급 재고 체크 로직 (재고가 임계값의 50% 이하)
-        autoOrderService.checkAndCreateAutoOrders()
-            .filter(order -> order.getOrderType() == PurchaseOrder.OrderType.EMERGENCY)
-            .doOnNext(order -> log.warn("긴급 발주 생성: {}", order.getId()))
-            .subscribe();
+    /**
+     * lease 회차 단위: 스케줄 실행은 작업 주기, 수동/대기 실행은 이미 끝난 회차와 겹치지 않도록 1초 단위
+     */
+    private static Duration round(String trigger, Duration period) {
+        return JobRuntime.TRIGGER_SCHEDULE.equals(trigger) ? period : Duration.ofSeconds(1);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,35 @@
+package com.example.reactive.global.scheduler;
+
+import com.example.reactive.domain.inventory.InventorySnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventorySnapshotScheduler {
+
+    private static final String INVENTORY_SNAPSHOT = "inventorySnapshot";
+
+    private final InventorySnapshotService snapshotService;
+    private final JobLeaseService jobLeaseService;
+
+    @Value("${inventory.snapshot.interval-ms:3600000}")
+    private long intervalMs;
+
+    /**
+     * 설정된 간격(기본 1시간)마다 재고 스냅샷 생성 (회차당 한 노드만 실행)
+     */
+    @Scheduled(
+        fixedDelayString = "${inventory.snapshot.interval-ms:3600000}",
+        initialDelayString = "${inventory.snapshot.initial-delay-ms:60000}")
+    public void periodicSnapshot() {
+        jobLeaseService.runExclusive(INVENTORY_SNAPSHOT, Duration.ofMillis(intervalMs), shard -> snapshotService.takeSnapshot())
+            .doOnError(error -> log.error("재고 스냅샷 생성 중 오류 발생", error))
+            .subscribe();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.reactive.global.scheduler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/jobs")
+@RequiredArgsConstructor
+public class JobController {
+
+    private final JobRuntime jobRuntime;
+    private final JobLeaseService jobLeaseService;
+
+    /**
+     * 등록된 작업 목록 (실행 중 / 대기 / 마지막 실행)
+     */
+    @GetMapping
+    public Mono<List<JobRuntime.JobStatus>> getJobs() {
+        return Mono.fromSupplier(jobRuntime::getJobs);
+    }
+
+    /**
+     * 작업 상태 조회
+     */
+    @GetMapping("/{name}")
+    public Mono<ResponseEntity<JobRuntime.JobStatus>> getJob(@PathVariable String name) {
+        return Mono.justOrEmpty(jobRuntime.getJob(name))
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 작업 수동 실행 (실행 중이면 작업의 겹침 정책에 따라 대기 또는 건너뜀)
+     */
+    @PostMapping("/{name}/trigger")
+    public Mono<ResponseEntity<JobRuntime.TriggerResult>> trigger(@PathVariable String name) {
+        return Mono.justOrEmpty(jobRuntime.trigger(name, JobRuntime.TRIGGER_MANUAL))
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 실행 중인 작업 취소
+     */
+    @PostMapping("/{name}/cancel")
+    public Mono<ResponseEntity<Void>> cancel(@PathVariable String name) {
+        if (jobRuntime.getJob(name).isEmpty()) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        return Mono.just(jobRuntime.cancel(name)
+            ? ResponseEntity.accepted().build()
+            : ResponseEntity.noContent().build());
+    }
+
+    /**
+     * 클러스터 실행 이력 조회 (job_runs)
+     */
+    @GetMapping("/runs")
+    public Flux<JobLeaseService.JobRunRecord> getRecentRuns(
+        @RequestParam(required = false) String jobName,
+        @RequestParam(defaultValue = "50") int limit) {
+
+        return jobLeaseService.getRecentRuns(jobName, limit);
+    }
+}
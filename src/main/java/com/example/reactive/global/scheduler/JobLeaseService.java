@@ -0,0 +1,379 @@
+package com.example.reactive.global.scheduler;
+
+import com.example.reactive.global.util.Rows;
+import com.example.reactive.global.util.WarehouseShard;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Statement;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 여러 노드에서 같은 스케줄 작업이 중복 실행되지 않도록 하는 PostgreSQL advisory lock 기반 lease
+ *
+ * - 작업 회차(scheduled_for)와 구간(shard)마다 pg_try_advisory_lock 을 잡은 노드만 실행하고, 실행 이력은 job_runs 에 남긴다.
+ * - 잠금은 세션 단위이므로 실행 동안 전용 커넥션을 유지하며, heartbeat 로 커넥션이 살아 있는지 확인한다.
+ *   커넥션이 끊기면 DB 가 잠금을 풀어 주므로 실행을 중단한다 (다른 노드가 이어받을 수 있음).
+ * - 잠금을 얻지 못한 노드는 failover-window 동안 heartbeat 간격으로 다시 시도하다가, 그 회차가 완료되면 멈춘다.
+ *   담당 노드가 죽으면 잠금이 풀리므로 대기 중인 노드가 이어서 실행한다.
+ * - 분할 모드(shard-count > 1)에서는 warehouse_id 해시 구간마다 따로 잠금을 잡는다. 자기 구간(index % node-count == node-index)은
+ *   바로, 나머지 구간은 failover-grace 만큼 기다린 뒤 시도하므로 평소에는 노드마다 자기 구간만 처리한다.
+ */
+@Slf4j
+@Component
+public class JobLeaseService {
+
+    private static final String STATUS_RUNNING = "RUNNING";
+    private static final String STATUS_COMPLETED = "COMPLETED";
+    private static final String STATUS_FAILED = "FAILED";
+    private static final String STATUS_CANCELLED = "CANCELLED";
+
+    private final ConnectionFactory connectionFactory;
+    private final DatabaseClient databaseClient;
+
+    private final String nodeId;
+    private final int shardCount;
+    private final int nodeIndex;
+    private final int nodeCount;
+    private final Duration heartbeatInterval;
+    private final Duration failoverGrace;
+    private final Duration failoverWindow;
+
+    public JobLeaseService(
+        ConnectionFactory connectionFactory,
+        DatabaseClient databaseClient,
+        @Value("${scheduler.cluster.node-id:}") String nodeId,
+        @Value("${scheduler.cluster.shard-count:1}") int shardCount,
+        @Value("${scheduler.cluster.node-index:0}") int nodeIndex,
+        @Value("${scheduler.cluster.node-count:1}") int nodeCount,
+        @Value("${scheduler.cluster.heartbeat-ms:10000}") long heartbeatMs,
+        @Value("${scheduler.cluster.failover-grace-ms:30000}") long failoverGraceMs,
+        @Value("${scheduler.cluster.failover-window-ms:1800000}") long failoverWindowMs) {
+
+        this.connectionFactory = connectionFactory;
+        this.databaseClient = databaseClient;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.shardCount = shardCount;
+        this.nodeIndex = nodeIndex;
+        this.nodeCount = nodeCount;
+        this.heartbeatInterval = Duration.ofMillis(heartbeatMs);
+        this.failoverGrace = Duration.ofMillis(failoverGraceMs);
+        this.failoverWindow = Duration.ofMillis(failoverWindowMs);
+    }
+
+    /**
+     * 클러스터 전체에서 회차당 한 노드만 실행
+     * period: 작업 주기 (같은 주기 구간에 시작한 실행을 같은 회차로 본다)
+     */
+    public <T> Flux<T> runExclusive(String jobName, Duration period, Function<WarehouseShard, ? extends Publisher<T>> job) {
+        return run(jobName, period, 1, job);
+    }
+
+    /**
+     * warehouse_id 해시 구간별로 나눠 실행 (구간마다 회차당 한 노드, shard-count 가 1 이면 runExclusive 와 같음)
+     */
+    public <T> Flux<T> runSharded(String jobName, Duration period, Function<WarehouseShard, ? extends Publisher<T>> job) {
+        return run(jobName, period, shardCount, job);
+    }
+
+    private <T> Flux<T> run(String jobName, Duration period, int count, Function<WarehouseShard, ? extends Publisher<T>> job) {
+        LocalDateTime scheduledFor = scheduledFor(period);
+        return Flux.range(0, count)
+            .map(index -> new LeaseKey(jobName, new WarehouseShard(index, count), scheduledFor))
+            .flatMap(key -> runShard(key, job), count);
+    }
+
+    private <T> Flux<T> runShard(LeaseKey key, Function<WarehouseShard, ? extends Publisher<T>> job) {
+        Duration delay = ownsShard(key.shard()) ? Duration.ZERO : failoverGrace;
+        long retries = Math.max(0, failoverWindow.toMillis() / heartbeatInterval.toMillis());
+
+        Flux<T> attempt = Flux.defer(() -> isCompleted(key)
+            .flatMapMany(completed -> completed ? Flux.<T>empty() : tryRun(key, job)));
+
+        return Mono.delay(delay)
+            .thenMany(attempt
+                .retryWhen(Retry.fixedDelay(retries, heartbeatInterval)
+                    .filter(LeaseBusyException.class::isInstance))
+                .onErrorResume(Exceptions::isRetryExhausted, error -> {
+                    log.warn("작업 잠금을 얻지 못해 이번 회차 실행 포기: {} [{}] {}", key.jobName(), key.shard(), key.scheduledFor());
+                    return Flux.empty();
+                }));
+    }
+
+    /**
+     * 전용 커넥션에서 잠금 시도 → 실행 → 잠금 해제
+     */
+    private <T> Flux<T> tryRun(LeaseKey key, Function<WarehouseShard, ? extends Publisher<T>> job) {
+        return Flux.usingWhen(
+            Mono.<Connection>from(connectionFactory.create()),
+            connection -> querySingle(connection, "SELECT pg_try_advisory_lock($1, $2)", key.lockClass(), key.lockObject())
+                .flatMapMany(locked -> locked
+                    ? Flux.usingWhen(
+                        Mono.just(connection),
+                        leased -> runLeased(leased, key, job),
+                        leased -> unlock(leased, key),
+                        (leased, error) -> unlock(leased, key),
+                        leased -> unlock(leased, key))
+                    : Flux.<T>error(new LeaseBusyException())),
+            Connection::close);
+    }
+
+    private <T> Flux<T> runLeased(Connection connection, LeaseKey key, Function<WarehouseShard, ? extends Publisher<T>> job) {
+        // 잠금을 얻기 직전에 다른 노드가 이 회차를 끝냈을 수 있음
+        return isCompleted(key).flatMapMany(completed -> completed
+            ? Flux.<T>empty()
+            : startRun(key).flatMapMany(runId -> execute(connection, key, runId, job)));
+    }
+
+    private <T> Flux<T> execute(Connection connection, LeaseKey key, Long runId, Function<WarehouseShard, ? extends Publisher<T>> job) {
+        AtomicLong itemCount = new AtomicLong();
+        AtomicBoolean leaseLost = new AtomicBoolean();
+
+        Mono<Boolean> lost = Flux.interval(heartbeatInterval)
+            .concatMap(tick -> querySingle(connection, "SELECT TRUE").onErrorReturn(false)
+                .flatMap(alive -> alive ? touch(runId).thenReturn(true) : Mono.just(false)))
+            .filter(alive -> !alive)
+            .next()
+            .doOnNext(alive -> {
+                leaseLost.set(true);
+                log.error("작업 잠금 커넥션이 끊겨 실행 중단: {} [{}]", key.jobName(), key.shard());
+            });
+
+        Flux<T> body = Flux.from(job.apply(key.shard()))
+            .doOnNext(item -> itemCount.incrementAndGet())
+            .takeUntilOther(lost)
+            .concatWith(Mono.defer(() -> leaseLost.get()
+                ? Mono.error(new IllegalStateException("작업 잠금을 잃어 실행을 중단했습니다"))
+                : Mono.empty()));
+
+        return Flux.usingWhen(
+            Mono.just(runId),
+            id -> body,
+            id -> finish(id, STATUS_COMPLETED, itemCount.get(), null)
+                .doOnSuccess(v -> log.info("클러스터 작업 완료: {} [{}] {}건", key.jobName(), key.shard(), itemCount.get())),
+            (id, error) -> finish(id, STATUS_FAILED, itemCount.get(), error.getMessage()),
+            id -> finish(id, STATUS_CANCELLED, itemCount.get(), null));
+    }
+
+    /**
+     * 최근 실행 이력 조회 (jobName 이 null 이면 전체 작업)
+     */
+    public Flux<JobRunRecord> getRecentRuns(String jobName, int limit) {
+        return databaseClient.sql("""
+                SELECT id, job_name, shard_index, shard_count, scheduled_for, node_id, status, item_count,
+                       error_message, started_at, heartbeat_at, finished_at
+                FROM job_runs
+                WHERE (:jobName = '' OR job_name = :jobName)
+                ORDER BY started_at DESC, id DESC
+                LIMIT :limit
+                """)
+            .bind("jobName", jobName != null ? jobName : "")
+            .bind("limit", limit)
+            .map(row -> JobRunRecord.builder()
+                .id(Rows.getLong(row, "id"))
+                .jobName(Rows.getString(row, "job_name"))
+                .shard(Rows.getInt(row, "shard_index") + "/" + Rows.getInt(row, "shard_count"))
+                .scheduledFor(Rows.getDateTime(row, "scheduled_for"))
+                .nodeId(Rows.getString(row, "node_id"))
+                .status(Rows.getString(row, "status"))
+                .itemCount(Rows.getLong(row, "item_count"))
+                .errorMessage(Rows.getString(row, "error_message"))
+                .startedAt(Rows.getDateTime(row, "started_at"))
+                .heartbeatAt(Rows.getDateTime(row, "heartbeat_at"))
+                .finishedAt(Rows.getDateTime(row, "finished_at"))
+                .build())
+            .all();
+    }
+
+    private Mono<Boolean> isCompleted(LeaseKey key) {
+        return databaseClient.sql("""
+                SELECT EXISTS (
+                    SELECT 1 FROM job_runs
+                    WHERE job_name = :jobName
+                    AND shard_index = :shardIndex
+                    AND shard_count = :shardCount
+                    AND scheduled_for = :scheduledFor
+                    AND status IN ('COMPLETED', 'CANCELLED')
+                ) AS completed
+                """)
+            .bind("jobName", key.jobName())
+            .bind("shardIndex", key.shard().index())
+            .bind("shardCount", key.shard().count())
+            .bind("scheduledFor", key.scheduledFor())
+            .map(row -> row.get("completed", Boolean.class))
+            .one();
+    }
+
+    /**
+     * 실행 이력 기록 (같은 회차에 남아 있는 RUNNING 이력은 잠금을 잃은 노드의 것이므로 ABANDONED 처리)
+     */
+    private Mono<Long> startRun(LeaseKey key) {
+        LocalDateTime now = LocalDateTime.now();
+        return databaseClient.sql("""
+                UPDATE job_runs SET status = 'ABANDONED', finished_at = :now
+                WHERE job_name = :jobName
+                AND shard_index = :shardIndex
+                AND shard_count = :shardCount
+                AND scheduled_for = :scheduledFor
+                AND status = 'RUNNING'
+                """)
+            .bind("now", now)
+            .bind("jobName", key.jobName())
+            .bind("shardIndex", key.shard().index())
+            .bind("shardCount", key.shard().count())
+            .bind("scheduledFor", key.scheduledFor())
+            .fetch()
+            .rowsUpdated()
+            .doOnNext(abandoned -> {
+                if (abandoned > 0) {
+                    log.warn("중단된 작업 이어받음: {} [{}] {}", key.jobName(), key.shard(), key.scheduledFor());
+                }
+            })
+            .then(databaseClient.sql("""
+                    INSERT INTO job_runs (job_name, shard_index, shard_count, scheduled_for, node_id, status, started_at, heartbeat_at)
+                    VALUES (:jobName, :shardIndex, :shardCount, :scheduledFor, :nodeId, :status, :now, :now)
+                    RETURNING id
+                    """)
+                .bind("jobName", key.jobName())
+                .bind("shardIndex", key.shard().index())
+                .bind("shardCount", key.shard().count())
+                .bind("scheduledFor", key.scheduledFor())
+                .bind("nodeId", nodeId)
+                .bind("status", STATUS_RUNNING)
+                .bind("now", now)
+                .map(row -> row.get("id", Long.class))
+                .one());
+    }
+
+    private Mono<Void> touch(Long runId) {
+        return databaseClient.sql("UPDATE job_runs SET heartbeat_at = :now WHERE id = :id")
+            .bind("now", LocalDateTime.now())
+            .bind("id", runId)
+            .then()
+            .onErrorResume(error -> {
+                log.warn("작업 heartbeat 기록 실패: {}", runId, error);
+                return Mono.empty();
+            });
+    }
+
+    private Mono<Void> finish(Long runId, String status, long itemCount, String errorMessage) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                UPDATE job_runs
+                SET status = :status, item_count = :itemCount, error_message = :errorMessage,
+                    finished_at = :now, heartbeat_at = :now
+                WHERE id = :id
+                """)
+            .bind("status", status)
+            .bind("itemCount", itemCount)
+            .bind("now", LocalDateTime.now())
+            .bind("id", runId);
+        spec = errorMessage != null ? spec.bind("errorMessage", errorMessage) : spec.bindNull("errorMessage", String.class);
+
+        return spec.then();
+    }
+
+    private Mono<Void> unlock(Connection connection, LeaseKey key) {
+        return querySingle(connection, "SELECT pg_advisory_unlock($1, $2)", key.lockClass(), key.lockObject())
+            .doOnNext(released -> {
+                if (!released) {
+                    log.warn("작업 잠금이 이미 해제됨: {} [{}]", key.jobName(), key.shard());
+                }
+            })
+            .onErrorResume(error -> {
+                // 커넥션이 끊긴 경우 DB 가 이미 잠금을 해제함
+                log.warn("작업 잠금 해제 실패: {} [{}]", key.jobName(), key.shard(), error);
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    private static Mono<Boolean> querySingle(Connection connection, String sql, Object... parameters) {
+        Statement statement = connection.createStatement(sql);
+        for (int i = 0; i < parameters.length; i++) {
+            statement.bind(i, parameters[i]);
+        }
+        return Flux.from(statement.execute())
+            .flatMap(result -> result.map((row, metadata) -> row.get(0, Boolean.class)))
+            .next();
+    }
+
+    private boolean ownsShard(WarehouseShard shard) {
+        return shard.index() % nodeCount == nodeIndex;
+    }
+
+    /**
+     * 회차 시각: 로컬 시각을 작업 주기 단위로 내림 (노드마다 조금씩 늦게 시작해도 같은 회차로 묶인다)
+     */
+    private static LocalDateTime scheduledFor(Duration period) {
+        long seconds = LocalDateTime.now().toEpochSecond(ZoneOffset.UTC);
+        long bucketStart = seconds - Math.floorMod(seconds, Math.max(1, period.getSeconds()));
+        return LocalDateTime.ofEpochSecond(bucketStart, 0, ZoneOffset.UTC);
+    }
+
+    private static String defaultNodeId() {
+        long pid = ProcessHandle.current().pid();
+        try {
+            return InetAddress.getLocalHost().getHostName() + "-" + pid;
+        } catch (UnknownHostException e) {
+            return "node-" + pid;
+        }
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class JobRunRecord {
+        private Long id;
+        private String jobName;
+        private String shard; // index/count
+        private LocalDateTime scheduledFor;
+        private String nodeId;
+        private String status;
+        private Long itemCount;
+        private String errorMessage;
+        private LocalDateTime startedAt;
+        private LocalDateTime heartbeatAt;
+        private LocalDateTime finishedAt;
+    }
+
+    private record LeaseKey(String jobName, WarehouseShard shard, LocalDateTime scheduledFor) {
+
+        int lockClass() {
+            return jobName.hashCode();
+        }
+
+        int lockObject() {
+            return shard.count() << 16 | shard.index();
+        }
+    }
+
+    /**
+     * 다른 노드가 잠금을 보유 중 (재시도 대상)
+     */
+    private static class LeaseBusyException extends RuntimeException {
+
+        LeaseBusyException() {
+            super("작업 잠금을 다른 노드가 보유 중입니다", null, false, false);
+        }
+    }
+}
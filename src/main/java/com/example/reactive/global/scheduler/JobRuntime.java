@@ -0,0 +1,296 @@
+package com.example.reactive.global.scheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * 스케줄 작업 실행기
+ * 작업은 실행 계기(trigger)를 받아 Publisher 를 돌려주고, 실행기가 전용 bounded 스케줄러에서 구독한다.
+ * 작업마다 실행 중인 구독(Disposable)을 하나만 추적하므로 겹치는 실행은 정책에 따라 건너뛰거나 1회분만 대기시키고,
+ * 관리 API 로 조회/수동 실행/취소할 수 있다. 실행 시간과 처리 건수는 scheduler.job.* 지표로 기록한다.
+ */
+@Slf4j
+@Component
+public class JobRuntime {
+
+    public static final String TRIGGER_SCHEDULE = "schedule";
+    public static final String TRIGGER_MANUAL = "manual";
+    public static final String TRIGGER_QUEUED = "queued";
+
+    public enum OverlapPolicy {
+        SKIP,  // 실행 중이면 이번 실행을 건너뜀
+        QUEUE  // 실행 중이면 끝난 뒤 한 번 더 실행 (대기는 1회분만 유지)
+    }
+
+    public enum TriggerResult {
+        STARTED,
+        QUEUED,
+        SKIPPED
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Scheduler jobScheduler;
+    private final ConcurrentHashMap<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong runSequence = new AtomicLong();
+
+    public JobRuntime(
+        MeterRegistry meterRegistry,
+        @Value("${scheduler.jobs.thread-cap:4}") int threadCap,
+        @Value("${scheduler.jobs.queued-task-cap:100}") int queuedTaskCap) {
+
+        this.meterRegistry = meterRegistry;
+        this.jobScheduler = Schedulers.newBoundedElastic(threadCap, queuedTaskCap, "scheduled-job");
+    }
+
+    @PreDestroy
+    public void stop() {
+        jobs.keySet().forEach(this::cancel);
+        jobScheduler.dispose();
+    }
+
+    /**
+     * 작업 등록 (이름은 관리 API 와 지표 태그로 사용, body 는 실행 계기를 받음)
+     */
+    public void register(String name, OverlapPolicy policy, Function<String, ? extends Publisher<?>> body) {
+        Job job = new Job(name, policy, body,
+            DistributionSummary.builder("scheduler.job.items")
+                .description("실행당 처리 건수")
+                .tag("job", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry),
+            Counter.builder("scheduler.job.skipped")
+                .description("실행 중이라 건너뛴 실행 수")
+                .tag("job", name)
+                .register(meterRegistry));
+
+        if (jobs.putIfAbsent(name, job) != null) {
+            throw new IllegalStateException("이미 등록된 작업입니다: " + name);
+        }
+    }
+
+    /**
+     * 작업 실행 (등록되지 않은 작업이면 empty)
+     */
+    public Optional<TriggerResult> trigger(String name, String trigger) {
+        Job job = jobs.get(name);
+        if (job == null) {
+            return Optional.empty();
+        }
+
+        long activeRunId;
+        synchronized (job) {
+            if (job.active == null) {
+                start(job, trigger);
+                return Optional.of(TriggerResult.STARTED);
+            }
+            if (job.policy == OverlapPolicy.QUEUE) {
+                job.queued = true;
+                return Optional.of(TriggerResult.QUEUED);
+            }
+            activeRunId = job.active.runId;
+        }
+
+        job.skipped.increment();
+        log.warn("이전 실행이 끝나지 않아 작업 건너뜀: {} (실행 중: #{})", name, activeRunId);
+        return Optional.of(TriggerResult.SKIPPED);
+    }
+
+    /**
+     * 실행 중인 작업과 대기 중인 실행 취소 (취소할 것이 없었으면 false)
+     */
+    public boolean cancel(String name) {
+        Job job = jobs.get(name);
+        if (job == null) {
+            return false;
+        }
+
+        ActiveRun active;
+        boolean hadQueued;
+        synchronized (job) {
+            active = job.active;
+            hadQueued = job.queued;
+            job.queued = false;
+        }
+        if (active != null) {
+            log.info("작업 취소: {} #{}", name, active.runId);
+            active.subscription.dispose();
+        }
+        return active != null || hadQueued;
+    }
+
+    public List<JobStatus> getJobs() {
+        return jobs.values().stream()
+            .map(Job::status)
+            .sorted(Comparator.comparing(JobStatus::getName))
+            .toList();
+    }
+
+    public Optional<JobStatus> getJob(String name) {
+        return Optional.ofNullable(jobs.get(name)).map(Job::status);
+    }
+
+    /**
+     * job 잠금을 잡은 상태에서 호출
+     */
+    private void start(Job job, String trigger) {
+        ActiveRun run = new ActiveRun(runSequence.incrementAndGet(), trigger);
+        job.active = run;
+        log.info("작업 시작: {} #{} ({})", job.name, run.runId, trigger);
+
+        run.subscription.update(Flux.defer(() -> Flux.<Object>from(job.body.apply(trigger)))
+            .subscribeOn(jobScheduler)
+            .doOnNext(item -> run.itemCount.incrementAndGet())
+            .doOnError(error -> run.error.set(error))
+            .doFinally(signal -> finish(job, run, signal))
+            .subscribe(
+                item -> { },
+                error -> log.error("작업 실행 중 오류 발생: {} #{}", job.name, run.runId, error)));
+    }
+
+    private void finish(Job job, ActiveRun run, SignalType signal) {
+        String outcome = switch (signal) {
+            case ON_COMPLETE -> "completed";
+            case ON_ERROR -> "failed";
+            default -> "cancelled";
+        };
+        long elapsedNanos = System.nanoTime() - run.startNanos;
+
+        Timer.builder("scheduler.job.duration")
+            .description("작업 실행 시간")
+            .tag("job", job.name)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        job.items.record(run.itemCount.get());
+
+        synchronized (job) {
+            job.lastRun = run.toRunInfo(outcome);
+            if (job.active == run) {
+                job.active = null;
+            }
+            if (job.queued && job.active == null) {
+                job.queued = false;
+                start(job, TRIGGER_QUEUED);
+            }
+        }
+        log.info("작업 종료: {} #{} {} ({}ms, {}건)",
+            job.name, run.runId, outcome, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), run.itemCount.get());
+    }
+
+    private static class Job {
+
+        private final String name;
+        private final OverlapPolicy policy;
+        private final Function<String, ? extends Publisher<?>> body;
+        private final DistributionSummary items;
+        private final Counter skipped;
+
+        // 아래 필드는 this 잠금으로 보호
+        private ActiveRun active;
+        private boolean queued;
+        private RunInfo lastRun;
+
+        Job(String name, OverlapPolicy policy, Function<String, ? extends Publisher<?>> body, DistributionSummary items, Counter skipped) {
+            this.name = name;
+            this.policy = policy;
+            this.body = body;
+            this.items = items;
+            this.skipped = skipped;
+        }
+
+        synchronized JobStatus status() {
+            return JobStatus.builder()
+                .name(name)
+                .overlapPolicy(policy)
+                .running(active != null)
+                .queued(queued)
+                .activeRun(active != null ? active.toRunInfo("running") : null)
+                .lastRun(lastRun)
+                .build();
+        }
+    }
+
+    private static class ActiveRun {
+
+        private final long runId;
+        private final String trigger;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong itemCount = new AtomicLong();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        // 구독 전에 취소되어도 이후 update 된 구독이 즉시 해제되도록 Swap 사용
+        private final Disposable.Swap subscription = Disposables.swap();
+
+        ActiveRun(long runId, String trigger) {
+            this.runId = runId;
+            this.trigger = trigger;
+        }
+
+        RunInfo toRunInfo(String outcome) {
+            Throwable failure = error.get();
+            return RunInfo.builder()
+                .runId(runId)
+                .trigger(trigger)
+                .startedAt(startedAt)
+                .finishedAt("running".equals(outcome) ? null : LocalDateTime.now())
+                .outcome(outcome)
+                .itemCount(itemCount.get())
+                .errorMessage(failure != null ? failure.getMessage() : null)
+                .build();
+        }
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class JobStatus {
+        private String name;
+        private OverlapPolicy overlapPolicy;
+        private boolean running;
+        private boolean queued;
+        private RunInfo activeRun;
+        private RunInfo lastRun;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RunInfo {
+        private Long runId;
+        private String trigger;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private String outcome; // running, completed, failed, cancelled
+        private Long itemCount;
+        private String errorMessage;
+    }
+}
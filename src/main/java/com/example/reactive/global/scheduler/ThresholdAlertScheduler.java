@@ -0,0 +1,37 @@
+package com.example.reactive.global.scheduler;
+
+import com.example.reactive.domain.inventory.ThresholdCrossingDetector;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ThresholdAlertScheduler {
+
+    private final ThresholdCrossingDetector thresholdDetector;
+
+    /**
+     * 설정된 간격(기본 1초)마다 임계값 하향 돌파 대기열 처리 (비어 있으면 DB 접근 없음)
+     */
+    @Scheduled(fixedDelayString = "${inventory.threshold.drain-interval-ms:1000}")
+    public void drainCrossings() {
+        thresholdDetector.drain()
+            .doOnError(error -> log.error("임계값 하향 돌파 처리 중 오류 발생", error))
+            .subscribe();
+    }
+
+    /**
+     * 설정된 간격(기본 10분)마다 수요 예측 재주문점 다시 적재 (일 1회 예측 갱신과 수동 갱신 반영)
+     */
+    @Scheduled(
+        fixedDelayString = "${inventory.threshold.reorder-point-refresh-ms:600000}",
+        initialDelayString = "${inventory.threshold.reorder-point-refresh-ms:600000}")
+    public void refreshReorderPoints() {
+        thresholdDetector.reloadReorderPoints()
+            .doOnError(error -> log.error("수요 예측 재주문점 적재 중 오류 발생", error))
+            .subscribe();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.reactive.global.scheduler;
+
+import com.example.reactive.domain.inventory.WarehouseStatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarehouseStatisticsScheduler {
+
+    private final WarehouseStatisticsService warehouseStatisticsService;
+
+    /**
+     * 설정된 간격(기본 15분)마다 창고 통계 전체 재계산 (증분 반영 누락/순서 역전 보정)
+     */
+    @Scheduled(
+        fixedDelayString = "${inventory.warehouse-stats.recompute-interval-ms:900000}",
+        initialDelayString = "${inventory.warehouse-stats.recompute-interval-ms:900000}")
+    public void periodicRecompute() {
+        warehouseStatisticsService.recompute()
+            .doOnError(error -> log.error("창고 통계 재계산 중 오류 발생", error))
+            .subscribe();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.reactive.global.util;
+
+/**
+ * 재고 수량 덧셈 (DECIMAL(10,2) 컬럼과 같은 0.01 단위)
+ * double 로 바로 더하고 빼면 12.299999999 같은 값이 이벤트에 남으므로, 0.01 단위 정수로 계산한 뒤 되돌린다.
+ */
+public final class Quantities {
+
+    private static final double SCALE = 100.0;
+
+    private Quantities() {
+    }
+
+    public static double add(double quantity, double delta) {
+        return (Math.round(quantity * SCALE) + Math.round(delta * SCALE)) / SCALE;
+    }
+
+    public static double subtract(double quantity, double delta) {
+        return (Math.round(quantity * SCALE) - Math.round(delta * SCALE)) / SCALE;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.reactive.global.util;
+
+import io.r2dbc.spi.Row;
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC Row 컬럼 이름 기반 읽기 (숫자 타입은 Number 로 읽어 필요한 타입으로 변환)
+ * NUMERIC → double, EXTRACT(numeric/double precision) → int 처럼 DB 타입과 DTO 타입이 다른 경우에 사용한다.
+ */
+public final class Rows {
+
+    private Rows() {
+    }
+
+    public static Long getLong(Row row, String column) {
+        Number value = row.get(column, Number.class);
+        return value != null ? value.longValue() : null;
+    }
+
+    public static Integer getInt(Row row, String column) {
+        Number value = row.get(column, Number.class);
+        return value != null ? value.intValue() : null;
+    }
+
+    public static Double getDouble(Row row, String column) {
+        Number value = row.get(column, Number.class);
+        return value != null ? value.doubleValue() : null;
+    }
+
+    public static String getString(Row row, String column) {
+        return row.get(column, String.class);
+    }
+
+    public static LocalDateTime getDateTime(Row row, String column) {
+        return row.get(column, LocalDateTime.class);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.reactive.global.util;
+
+import reactor.core.publisher.Mono;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키에 대한 동시 요청이 하나의 진행 중인 Mono 를 공유하도록 하는 유틸리티
+ * 작업이 끝나면(성공/실패 모두) 키가 제거되어 이후 요청은 새로 실행된다.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 진행 중인 작업이 있으면 그 결과를 공유하고, 없으면 loader 를 실행
+     */
+    public Mono<V> execute(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> share(k, loader)));
+    }
+
+    /**
+     * 현재 진행 중인 작업 수
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Mono<V> share(K key, Supplier<Mono<V>> loader) {
+        AtomicReference<Mono<V>> self = new AtomicReference<>();
+        Mono<V> shared = Mono.defer(loader)
+            .doFinally(signal -> inFlight.remove(key, self.get()))
+            .cache();
+        self.set(shared);
+        return shared;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.reactive.global.util;
+
+/**
+ * warehouse_id 해시 구간 (count 개로 나눈 구간 중 index 번째)
+ * 클러스터 스케줄 작업이 창고 단위로 대상을 나눠 여러 노드에서 처리할 때 사용한다.
+ */
+public record WarehouseShard(int index, int count) {
+
+    /**
+     * 나누지 않은 전체 구간
+     */
+    public static final WarehouseShard ALL = new WarehouseShard(0, 1);
+
+    public WarehouseShard {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("잘못된 shard 구간: " + index + "/" + count);
+        }
+    }
+
+    public boolean isAll() {
+        return count == 1;
+    }
+
+    /**
+     * 주어진 warehouse_id 컬럼이 이 구간에 속하는지 확인하는 SQL 조건 (전체 구간이면 빈 문자열)
+     * hashint8 로 흩뜨린 뒤 나머지를 취하므로 id 가 연속적이어도 구간 크기가 고르게 나뉜다.
+     */
+    public String sqlPredicate(String warehouseIdColumn) {
+        if (isAll()) {
+            return "";
+        }
+        return "AND mod(hashint8(%s) & 2147483647, %d) = %d".formatted(warehouseIdColumn, count, index);
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+}
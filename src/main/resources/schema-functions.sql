@@ -0,0 +1,62 @@
+-- 이 스크립트는 함수 본문에 ';' 가 포함되므로 구문 구분자로 ';;' 를 사용한다 (R2dbcConfig 참고)
+
+-- 재고 이벤트 INSERT 시 NOTIFY 발행 (실시간 이벤트 스트림용)
+CREATE OR REPLACE FUNCTION notify_inventory_event() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('inventory_events', json_build_object(
+        'id', NEW.id,
+        'inventoryId', NEW.inventory_id,
+        'productId', NEW.product_id,
+        'warehouseId', NEW.warehouse_id,
+        'eventType', NEW.event_type,
+        'previousQuantity', NEW.previous_quantity,
+        'newQuantity', NEW.new_quantity,
+        'timestamp', NEW.timestamp,
+        -- NOTIFY payload 는 8000 바이트 제한이 있으므로 큰 메타데이터는 생략
+        'metadata', CASE WHEN length(NEW.metadata::text) <= 4000 THEN NEW.metadata::text END
+    )::text);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;;
+
+DROP TRIGGER IF EXISTS trg_inventory_events_notify ON inventory_events;;
+
+CREATE TRIGGER trg_inventory_events_notify
+    AFTER INSERT ON inventory_events
+    FOR EACH ROW EXECUTE FUNCTION notify_inventory_event();;
+
+-- 재고 이벤트 월별 파티션 생성 (이미 있으면 무시), 생성된 파티션 이름 반환
+-- DEFAULT 파티션에 해당 월의 행이 있으면 파티션을 만들 수 없으므로, 새 테이블로 옮긴 뒤 파티션으로 붙인다.
+-- (옮기는 동안 DEFAULT 파티션으로 새 행이 들어오지 않도록 잠그고, 붙이기 전에 옮기므로 NOTIFY 트리거는 다시 발행되지 않음)
+CREATE OR REPLACE FUNCTION create_inventory_events_partition(month_start DATE) RETURNS text AS $$
+DECLARE
+    range_start TIMESTAMP := date_trunc('month', month_start);
+    range_end TIMESTAMP := date_trunc('month', month_start) + INTERVAL '1 month';
+    partition_name TEXT := format('inventory_events_%s', to_char(range_start, 'YYYY_MM'));
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+
+    LOCK TABLE inventory_events_default IN EXCLUSIVE MODE;
+    EXECUTE format('CREATE TABLE %I (LIKE inventory_events INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name);
+    EXECUTE format(
+        'WITH moved AS (DELETE FROM inventory_events_default WHERE timestamp >= %L AND timestamp < %L RETURNING *) '
+        'INSERT INTO %I SELECT * FROM moved',
+        range_start, range_end, partition_name);
+    EXECUTE format(
+        'ALTER TABLE inventory_events ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+        partition_name, range_start, range_end);
+    RETURN partition_name;
+END;
+$$ LANGUAGE plpgsql;;
+
+-- 기동 시 이번 달 포함 3개월치 파티션 미리 생성 (파티션 테이블인 경우에만)
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_class WHERE relname = 'inventory_events' AND relkind = 'p') THEN
+        PERFORM create_inventory_events_partition((date_trunc('month', CURRENT_DATE) + make_interval(months => n))::date)
+        FROM generate_series(0, 2) AS n;
+    END IF;
+END;
+$$;;
@@ -35,31 +35,204 @@ CREATE TABLE IF NOT EXISTS inventory
     expiry_date TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0, -- 행 변경 순번 (수량/위치 UPDATE 마다 1 증가)
 
     -- 외래 키 제약 조건
     CONSTRAINT fk_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses(id),
     CONSTRAINT fk_product FOREIGN KEY (product_id) REFERENCES products(id)
+    -- 창고별 상품 재고는 하나만 존재 (uq_inventory_warehouse_product_idx, 기존 테이블에도 적용되도록 인덱스로 생성)
 );
 
+-- 기존 테이블에도 version 컬럼 추가 (기존 행은 0 부터 시작)
+ALTER TABLE inventory ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
 -- InventoryEvent (재고 이벤트)
+-- timestamp 기준 월별 range 파티션 (파티션 생성/보관은 schema-functions.sql 및 InventoryEventPartitionScheduler)
 CREATE TABLE IF NOT EXISTS inventory_events
 (
-    id SERIAL PRIMARY KEY,
+    id BIGSERIAL,
     inventory_id BIGINT NOT NULL,
     product_id BIGINT NOT NULL,
     warehouse_id BIGINT NOT NULL,
     event_type VARCHAR(50) NOT NULL,
     previous_quantity DECIMAL(10, 2),
     new_quantity DECIMAL(10, 2),
-    timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     metadata JSONB,  -- 추가 메타데이터를 위한 JSONB 필드
 
+    -- 파티션 테이블의 기본 키는 파티션 키를 포함해야 함
+    PRIMARY KEY (id, timestamp),
+
     -- 외래 키 제약 조건
     CONSTRAINT fk_inventory FOREIGN KEY (inventory_id) REFERENCES inventory(id),
     CONSTRAINT fk_product FOREIGN KEY (product_id) REFERENCES products(id),
     CONSTRAINT fk_warehouse FOREIGN KEY (warehouse_id) REFERENCES warehouses(id)
+) PARTITION BY RANGE (timestamp);
+
+-- 월별 파티션이 없는 시점의 이벤트를 받는 기본 파티션 (그 월의 파티션을 만들 때 해당 행은 새 파티션으로 옮겨짐)
+CREATE TABLE IF NOT EXISTS inventory_events_default PARTITION OF inventory_events DEFAULT;
+
+-- InventoryExpiryAlert (재고/경계/유통기한별 EXPIRY_ALERT 선점 기록, 여러 노드가 같은 경계 알림을 한 번만 만들도록 ExpiryAlertTracker 가 INSERT)
+CREATE TABLE IF NOT EXISTS inventory_expiry_alerts
+(
+    inventory_id BIGINT NOT NULL,
+    days_remaining INT NOT NULL,
+    expiry_date TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (inventory_id, days_remaining, expiry_date)
+);
+
+-- 선점 기록이 없던 때 만든 최근 EXPIRY_ALERT 도 기록 (반복 실행해도 같은 결과)
+INSERT INTO inventory_expiry_alerts (inventory_id, days_remaining, expiry_date)
+SELECT DISTINCT inventory_id, CAST(metadata ->> 'daysRemaining' AS INT), CAST(metadata ->> 'expiryDate' AS TIMESTAMP)
+FROM inventory_events
+WHERE event_type = 'EXPIRY_ALERT'
+AND timestamp >= CURRENT_TIMESTAMP - INTERVAL '8 days'
+AND metadata ->> 'daysRemaining' IS NOT NULL
+AND metadata ->> 'expiryDate' IS NOT NULL
+ON CONFLICT DO NOTHING;
+
+-- InventoryEventStats (이벤트 타입/창고/일자별 누적 건수, InventoryEventStatisticsService 가 증분 갱신)
+CREATE TABLE IF NOT EXISTS inventory_event_stats
+(
+    event_type VARCHAR(50) NOT NULL,
+    warehouse_id BIGINT NOT NULL,
+    stat_date DATE NOT NULL,
+    event_count BIGINT NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (event_type, warehouse_id, stat_date)
+);
+
+-- InventoryProjectionCheckpoint (이벤트 재생으로 재고 수량을 검증/재구성하는 작업의 진행 위치)
+CREATE TABLE IF NOT EXISTS inventory_projection_checkpoints
+(
+    run_id VARCHAR(64) PRIMARY KEY,
+    mode VARCHAR(20) NOT NULL,
+    last_inventory_id BIGINT NOT NULL DEFAULT 0,
+    processed_count BIGINT NOT NULL DEFAULT 0,
+    mismatch_count BIGINT NOT NULL DEFAULT 0,
+    corrected_count BIGINT NOT NULL DEFAULT 0,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    started_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- InventorySnapshot (시점 조회용 재고 수량 스냅샷, 직전 스냅샷 이후 행 version 이 바뀐 재고만 실제 수량으로 기록)
+CREATE TABLE IF NOT EXISTS inventory_snapshots
+(
+    id BIGSERIAL PRIMARY KEY,
+    inventory_id BIGINT NOT NULL,
+    warehouse_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    quantity DECIMAL(10, 2) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0, -- 스냅샷 시점의 inventory.version
+    last_event_id BIGINT, -- 스냅샷 수량에 반영된 마지막 이벤트 id (NULL 이면 이전 형식, snapshot_at 이후 이벤트를 더함)
+    snapshot_at TIMESTAMP NOT NULL,
+
+    CONSTRAINT uq_inventory_snapshots_inventory_at UNIQUE (inventory_id, snapshot_at)
+);
+
+-- 기존 테이블에도 컬럼 추가
+ALTER TABLE inventory_snapshots ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE inventory_snapshots ADD COLUMN IF NOT EXISTS last_event_id BIGINT;
+
+-- InventoryEventRollup (시간/일 단위 이벤트 집계, InventoryEventRollupService 가 watermark 이후 구간을 재집계)
+CREATE TABLE IF NOT EXISTS inventory_event_rollups_hourly
+(
+    warehouse_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    event_count BIGINT NOT NULL,
+    net_quantity_delta DECIMAL(14, 2) NOT NULL,
+
+    PRIMARY KEY (warehouse_id, product_id, event_type, bucket_start)
 );
 
+CREATE TABLE IF NOT EXISTS inventory_event_rollups_daily
+(
+    warehouse_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    bucket_date DATE NOT NULL,
+    event_count BIGINT NOT NULL,
+    net_quantity_delta DECIMAL(14, 2) NOT NULL,
+
+    PRIMARY KEY (warehouse_id, product_id, event_type, bucket_date)
+);
+
+CREATE TABLE IF NOT EXISTS inventory_event_rollup_watermarks
+(
+    rollup_name VARCHAR(50) PRIMARY KEY,
+    watermark TIMESTAMP NOT NULL
+);
+
+-- DemandForecast (창고/상품별 출고 수요 예측 상태, DemandForecastService 가 일 롤업으로 증분 갱신)
+CREATE TABLE IF NOT EXISTS demand_forecasts
+(
+    warehouse_id BIGINT NOT NULL,
+    product_id BIGINT NOT NULL,
+    method VARCHAR(20) NOT NULL,
+    level DOUBLE PRECISION NOT NULL,
+    demand_size DOUBLE PRECISION NOT NULL,
+    demand_interval DOUBLE PRECISION NOT NULL,
+    periods_since_demand INT NOT NULL,
+    mad DOUBLE PRECISION NOT NULL,
+    observations INT NOT NULL,
+    daily_forecast DOUBLE PRECISION NOT NULL,
+    reorder_point DECIMAL(10, 2),
+    order_up_to DECIMAL(10, 2),
+    last_bucket_date DATE NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+
+    PRIMARY KEY (warehouse_id, product_id)
+);
+
+-- PurchaseOrder (발주)
+CREATE TABLE IF NOT EXISTS purchase_orders
+(
+    id BIGSERIAL PRIMARY KEY,
+    supplier_id BIGINT,
+    product_id BIGINT NOT NULL,
+    warehouse_id BIGINT NOT NULL,
+    requested_by BIGINT,
+    requested_quantity DECIMAL(10, 2) NOT NULL,
+    unit_price DECIMAL(10, 2),
+    total_amount DECIMAL(14, 2),
+    status VARCHAR(20) NOT NULL,
+    order_type VARCHAR(20) NOT NULL,
+    notes TEXT,
+    requested_at TIMESTAMP,
+    expected_delivery_date TIMESTAMP,
+    actual_delivery_date TIMESTAMP,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 인덱스가 없던 때 쌓인 중복 진행 중 발주 정리 (재고별로 가장 진행된 발주, 같으면 가장 최근 발주만 남기고 취소)
+-- 중복이 없으면 아무 행도 바꾸지 않으므로 시작할 때마다 실행해도 된다
+UPDATE purchase_orders po
+SET status = 'CANCELLED',
+    notes = CONCAT_WS(' / ', po.notes, '중복 진행 중 발주 정리로 자동 취소'),
+    updated_at = CURRENT_TIMESTAMP
+FROM (
+    SELECT id,
+           ROW_NUMBER() OVER (
+               PARTITION BY product_id, warehouse_id
+               ORDER BY CASE status WHEN 'IN_TRANSIT' THEN 0 WHEN 'CONFIRMED' THEN 1 WHEN 'SENT' THEN 2 ELSE 3 END, id DESC
+           ) AS open_rank
+    FROM purchase_orders
+    WHERE status IN ('PENDING', 'SENT', 'CONFIRMED', 'IN_TRANSIT')
+) d
+WHERE po.id = d.id
+AND d.open_rank > 1;
+
+-- 재고(창고/상품)별 진행 중 발주는 하나만 존재 (자동 발주 INSERT 의 ON CONFLICT, 재발주 대상 조회의 NOT EXISTS)
+CREATE UNIQUE INDEX IF NOT EXISTS uq_purchase_orders_open_product_warehouse
+    ON purchase_orders (product_id, warehouse_id)
+    WHERE status IN ('PENDING', 'SENT', 'CONFIRMED', 'IN_TRANSIT');
+
 -- User (유저)
 CREATE TABLE IF NOT EXISTS users
 (
@@ -102,9 +275,41 @@ CREATE TABLE IF NOT EXISTS suppliers
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- JobRun (클러스터 스케줄 작업 실행 이력, JobLeaseService 가 advisory lock 을 잡은 노드에서 기록)
+-- scheduled_for: 노드 간 같은 실행 회차를 식별하는 시각 (작업 주기 단위로 내림)
+CREATE TABLE IF NOT EXISTS job_runs
+(
+    id BIGSERIAL PRIMARY KEY,
+    job_name VARCHAR(100) NOT NULL,
+    shard_index INT NOT NULL,
+    shard_count INT NOT NULL,
+    scheduled_for TIMESTAMP NOT NULL,
+    node_id VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL, -- RUNNING, COMPLETED, FAILED, CANCELLED, ABANDONED
+    item_count BIGINT NOT NULL DEFAULT 0,
+    error_message TEXT,
+    started_at TIMESTAMP NOT NULL,
+    heartbeat_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_job_runs_job_scheduled ON job_runs (job_name, scheduled_for, shard_index);
+CREATE INDEX IF NOT EXISTS idx_job_runs_started ON job_runs (started_at DESC);
+
 -- 인덱스 생성 (성능 최적화)
-CREATE INDEX IF NOT EXISTS idx_inventory_warehouse ON inventory(warehouse_id);
+-- 기존 테이블에도 (warehouse_id, product_id) 유일성 보장 (ON CONFLICT 대상)
+-- warehouse_id 조회도 이 인덱스의 선두 컬럼으로 처리
+CREATE UNIQUE INDEX IF NOT EXISTS uq_inventory_warehouse_product_idx ON inventory(warehouse_id, product_id);
 CREATE INDEX IF NOT EXISTS idx_inventory_product ON inventory(product_id);
-CREATE INDEX IF NOT EXISTS idx_inventory_events_inventory ON inventory_events(inventory_id);
-CREATE INDEX IF NOT EXISTS idx_inventory_events_product ON inventory_events(product_id);
-CREATE INDEX IF NOT EXISTS idx_inventory_events_warehouse ON inventory_events(warehouse_id);
\ No newline at end of file
+-- 이벤트 조회는 (조건, timestamp, id) keyset 페이지네이션을 사용하므로 복합 인덱스로 생성
+CREATE INDEX IF NOT EXISTS idx_inventory_events_inventory_ts ON inventory_events(inventory_id, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_inventory_events_product_ts ON inventory_events(product_id, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_inventory_events_warehouse_ts ON inventory_events(warehouse_id, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_inventory_events_type_ts ON inventory_events(event_type, timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_inventory_events_ts ON inventory_events(timestamp DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_inventory_events_metadata ON inventory_events USING GIN (metadata jsonb_path_ops);
+CREATE INDEX IF NOT EXISTS idx_inventory_snapshots_at ON inventory_snapshots(snapshot_at DESC);
+CREATE INDEX IF NOT EXISTS idx_event_rollups_hourly_warehouse ON inventory_event_rollups_hourly(warehouse_id, bucket_start);
+CREATE INDEX IF NOT EXISTS idx_event_rollups_hourly_product ON inventory_event_rollups_hourly(product_id, bucket_start);
+CREATE INDEX IF NOT EXISTS idx_event_rollups_daily_warehouse ON inventory_event_rollups_daily(warehouse_id, bucket_date);
+CREATE INDEX IF NOT EXISTS idx_event_rollups_daily_product ON inventory_event_rollups_daily(product_id, bucket_date);
\ No newline at end of file
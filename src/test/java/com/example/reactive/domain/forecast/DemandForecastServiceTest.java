@@ -0,0 +1,75 @@
+package com.example.reactive.domain.forecast;
+
+import com.example.reactive.domain.forecast.DemandForecastService.ForecastState;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DemandForecastServiceTest {
+
+    private static final double ALPHA = 0.2;
+    private static final double DELTA = 1e-9;
+    private static final LocalDate HISTORY_START = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void firstObservationSeedsLevel() {
+        ForecastState state = emptyState();
+
+        state.observe(4.0, ALPHA);
+
+        assertFalse(state.intermittent());
+        assertEquals(4.0, state.dailyForecast(ALPHA), DELTA);
+    }
+
+    @Test
+    void smoothesDailyDemand() {
+        ForecastState state = emptyState();
+
+        state.observe(10.0, ALPHA);
+        state.observe(20.0, ALPHA);
+
+        // 10 + 0.2 × (20 - 10)
+        assertFalse(state.intermittent());
+        assertEquals(12.0, state.dailyForecast(ALPHA), DELTA);
+    }
+
+    @Test
+    void usesBiasCorrectedCrostonForIntermittentDemand() {
+        ForecastState state = emptyState();
+
+        for (double demand : new double[] {0, 0, 6, 0, 0, 6}) {
+            state.observe(demand, ALPHA);
+        }
+
+        // 3일마다 6개: (1 - 0.2 / 2) × 6 / 3
+        assertTrue(state.intermittent());
+        assertEquals(1.8, state.dailyForecast(ALPHA), DELTA);
+    }
+
+    @Test
+    void noDemandIsNotReportedAsDemand() {
+        ForecastState state = emptyState();
+
+        for (int day = 0; day < 90; day++) {
+            state.observe(0.0, ALPHA);
+        }
+
+        assertFalse(state.hasDemand());
+        assertFalse(state.intermittent());
+        assertEquals(0.0, state.dailyForecast(ALPHA), DELTA);
+    }
+
+    @Test
+    void newSkuStartsTheDayBeforeItsFirstActivity() {
+        assertEquals(LocalDate.of(2025, 3, 9), DemandForecastService.startDate(HISTORY_START, LocalDate.of(2025, 3, 10)));
+        assertEquals(HISTORY_START, DemandForecastService.startDate(HISTORY_START, LocalDate.of(2024, 6, 1)));
+        assertEquals(HISTORY_START, DemandForecastService.startDate(HISTORY_START, null));
+    }
+
+    private static ForecastState emptyState() {
+        return ForecastState.empty(1L, 10L, HISTORY_START);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.reactive.domain.inventory;
+
+import com.example.reactive.domain.inventory.ExpiryAlertTracker.Due;
+import com.example.reactive.domain.inventory.ExpiryAlertTracker.ExpiryHeap;
+import com.example.reactive.global.util.LongLongHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiryAlertTrackerTest {
+
+    private ExpiryAlertTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        // track / pollDue / scheduleNext 는 DB 를 쓰지 않는다
+        tracker = new ExpiryAlertTracker(null, null, null, null, null, null, 500, 1L);
+    }
+
+    @Test
+    void heapPopsInFireAtOrderAndGrows() {
+        ExpiryHeap heap = new ExpiryHeap(2);
+        Random random = new Random(42);
+        List<Long> expected = new ArrayList<>();
+        for (long id = 1; id <= 200; id++) {
+            long fireAt = random.nextInt(1_000);
+            heap.push(fireAt, id, fireAt + 100);
+            expected.add(fireAt);
+        }
+        expected.sort(null);
+
+        List<Long> popped = new ArrayList<>();
+        while (!heap.isEmpty()) {
+            assertEquals(heap.peekFireAt() + 100, heap.peekExpiry());
+            popped.add(heap.peekFireAt());
+            heap.pop();
+        }
+        assertEquals(expected, popped);
+    }
+
+    @Test
+    void heapRetainKeepsOnlyCurrentExpiriesInOrder() {
+        ExpiryHeap heap = new ExpiryHeap(4);
+        LongLongHashMap current = new LongLongHashMap(16, Long.MIN_VALUE);
+        for (long id = 1; id <= 20; id++) {
+            heap.push(100 - id, id, 1_000 + id);
+            if (id % 2 == 0) {
+                current.put(id, 1_000 + id);
+            } else if (id % 3 == 0) {
+                // 유통기한이 바뀐 항목은 이전 항목이 버려져야 한다
+                current.put(id, 5_000 + id);
+            }
+        }
+
+        heap.retain(current);
+
+        assertEquals(10, heap.size());
+        long previousFireAt = Long.MIN_VALUE;
+        while (!heap.isEmpty()) {
+            long id = heap.peekId();
+            assertEquals(0, id % 2);
+            assertTrue(heap.peekFireAt() >= previousFireAt);
+            previousFireAt = heap.peekFireAt();
+            heap.pop();
+        }
+    }
+
+    @Test
+    void schedulesOnlyFutureBoundaryWhenFarFromExpiry() {
+        track(1L, LocalDateTime.now().plusDays(10));
+
+        assertEquals(List.of(), tracker.pollDue());
+        assertEquals(1, tracker.trackedCount());
+    }
+
+    @Test
+    void startsAtMostRecentPassedBoundary() {
+        long sixDays = track(1L, LocalDateTime.now().plusDays(6));
+        long fourDays = track(2L, LocalDateTime.now().plusDays(4));
+        long oneDay = track(3L, LocalDateTime.now().plusDays(1));
+
+        List<Due> due = tracker.pollDue();
+
+        assertEquals(3, due.size());
+        assertTrue(due.contains(new Due(1L, sixDays, 7)));
+        assertTrue(due.contains(new Due(2L, fourDays, 5)));
+        assertTrue(due.contains(new Due(3L, oneDay, 2)));
+    }
+
+    @Test
+    void advancesThroughSevenFiveTwoDayBoundaries() {
+        long expiry = track(1L, LocalDateTime.now().plusDays(4));
+
+        List<Due> due = tracker.pollDue();
+        assertEquals(List.of(new Due(1L, expiry, 5)), due);
+
+        // 5일 경계 다음은 2일 경계 (아직 오지 않음)
+        tracker.scheduleNext(due);
+        assertEquals(List.of(), tracker.pollDue());
+        assertEquals(1, tracker.trackedCount());
+    }
+
+    @Test
+    void stopsTrackingAfterLastBoundary() {
+        long expiry = track(1L, LocalDateTime.now().plusDays(1));
+
+        List<Due> due = tracker.pollDue();
+        assertEquals(List.of(new Due(1L, expiry, 2)), due);
+
+        tracker.scheduleNext(due);
+        assertEquals(0, tracker.trackedCount());
+        assertEquals(List.of(), tracker.pollDue());
+    }
+
+    @Test
+    void dropsStaleEntryWhenExpiryChanges() {
+        track(1L, LocalDateTime.now().plusDays(4));
+        long changed = track(1L, LocalDateTime.now().plusDays(1));
+
+        assertEquals(List.of(new Due(1L, changed, 2)), tracker.pollDue());
+    }
+
+    private long track(Long inventoryId, LocalDateTime expiryDate) {
+        LocalDateTime truncated = expiryDate.withNano(0);
+        tracker.track(Inventory.builder().id(inventoryId).expiryDate(truncated).build());
+        return truncated.toEpochSecond(ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.reactive.domain.inventory;
+
+import com.example.reactive.domain.inventory_event.InventoryEvent;
+import com.example.reactive.domain.inventory_event.InventoryEventService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InventoryWriteSequencerTest {
+
+    private static final Long INVENTORY_A = 1L;
+    private static final Long INVENTORY_B = 2L;
+    private static final Long BLOCKER = 99L;
+
+    private InventoryRepository inventoryRepository;
+    private InventoryWriteSequencer sequencer;
+    private Sinks.One<Inventory> blocker;
+    private final List<String> fallbackOrder = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        inventoryRepository = mock(InventoryRepository.class);
+        InventoryEventService eventService = mock(InventoryEventService.class);
+        TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(eventService.createEventsWithDetails(anyList())).thenAnswer(invocation ->
+            Mono.just(((List<?>) invocation.getArgument(0)).size()));
+
+        // 레인 1개: 모든 작업이 같은 대기열에 쌓인다
+        sequencer = new InventoryWriteSequencer(
+            inventoryRepository, eventService, transactionalOperator, new SimpleMeterRegistry(), 1, 100, 64);
+
+        // 첫 작업이 끝나지 않은 동안 등록된 작업은 다음 drain 에서 한꺼번에 꺼내진다
+        blocker = Sinks.one();
+        sequencer.submit(BLOCKER, blocker::asMono).subscribe();
+    }
+
+    @Test
+    void coalescesSameInventoryAcrossInterleavedOperations() {
+        when(inventoryRepository.applyCoalescedDelta(eq(INVENTORY_A), anyDouble(), anyDouble()))
+            .thenReturn(Mono.just(inventory(INVENTORY_A, 17.0)));
+        when(inventoryRepository.applyCoalescedDelta(eq(INVENTORY_B), anyDouble(), anyDouble()))
+            .thenReturn(Mono.just(inventory(INVENTORY_B, 8.0)));
+
+        CompletableFuture<Inventory> a1 = delta(INVENTORY_A, 5.0, "A1");
+        CompletableFuture<Inventory> b1 = delta(INVENTORY_B, -3.0, "B1");
+        CompletableFuture<Inventory> a2 = delta(INVENTORY_A, 2.0, "A2");
+        CompletableFuture<Inventory> b2 = delta(INVENTORY_B, 1.0, "B2");
+
+        release();
+
+        verify(inventoryRepository).applyCoalescedDelta(INVENTORY_A, 7.0, 0.0);
+        verify(inventoryRepository).applyCoalescedDelta(INVENTORY_B, -2.0, -3.0);
+        assertEquals(15.0, a1.join().getQuantity());
+        assertEquals(17.0, a2.join().getQuantity());
+        assertEquals(7.0, b1.join().getQuantity());
+        assertEquals(8.0, b2.join().getQuantity());
+        assertEquals(List.of(), fallbackOrder);
+    }
+
+    @Test
+    void fallsBackToSingleOperationsInOrderWhenPrefixUnderflows() {
+        when(inventoryRepository.applyCoalescedDelta(anyLong(), anyDouble(), anyDouble())).thenReturn(Mono.empty());
+
+        CompletableFuture<Inventory> first = delta(INVENTORY_A, -5.0, "A1");
+        CompletableFuture<Inventory> second = delta(INVENTORY_A, 3.0, "A2");
+        CompletableFuture<Inventory> third = delta(INVENTORY_A, -1.0, "A3");
+
+        release();
+
+        verify(inventoryRepository).applyCoalescedDelta(INVENTORY_A, -3.0, -5.0);
+        assertEquals(List.of("A1", "A2", "A3"), fallbackOrder);
+        assertEquals(-5.0, first.join().getQuantity());
+        assertEquals(3.0, second.join().getQuantity());
+        assertEquals(-1.0, third.join().getQuantity());
+    }
+
+    @Test
+    void plainOperationSplitsDeltasOfSameInventory() {
+        CompletableFuture<Inventory> first = delta(INVENTORY_A, 5.0, "A1");
+        CompletableFuture<Inventory> plain = sequencer.submit(INVENTORY_A, recording("MOVE", INVENTORY_A, 0.0)).toFuture();
+        CompletableFuture<Inventory> second = delta(INVENTORY_A, 2.0, "A2");
+
+        release();
+
+        verify(inventoryRepository, never()).applyCoalescedDelta(anyLong(), anyDouble(), anyDouble());
+        assertEquals(List.of("A1", "MOVE", "A2"), fallbackOrder);
+        first.join();
+        plain.join();
+        second.join();
+    }
+
+    private CompletableFuture<Inventory> delta(Long inventoryId, double delta, String label) {
+        return sequencer.submitDelta(
+                inventoryId,
+                delta,
+                delta >= 0 ? InventoryEvent.EventType.STOCK_ADDED : InventoryEvent.EventType.STOCK_REMOVED,
+                null,
+                recording(label, inventoryId, delta))
+            .toFuture();
+    }
+
+    private Supplier<Mono<Inventory>> recording(String label, Long inventoryId, double quantity) {
+        return () -> Mono.fromSupplier(() -> {
+            fallbackOrder.add(label);
+            return inventory(inventoryId, quantity);
+        });
+    }
+
+    private void release() {
+        blocker.tryEmitValue(inventory(BLOCKER, 0.0));
+    }
+
+    private static Inventory inventory(Long id, double quantity) {
+        return Inventory.builder()
+            .id(id)
+            .productId(id * 10)
+            .warehouseId(1L)
+            .quantity(quantity)
+            .build();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.reactive.global.util;
+
+import org.junit.jupiter.api.Test;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongLongHashMapTest {
+
+    private static final long MISSING = Long.MIN_VALUE;
+
+    @Test
+    void putReturnsPreviousValue() {
+        LongLongHashMap map = new LongLongHashMap(4, MISSING);
+
+        assertEquals(MISSING, map.put(7L, 70L));
+        assertEquals(70L, map.put(7L, 71L));
+        assertEquals(71L, map.get(7L));
+        assertEquals(MISSING, map.get(8L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void removeReturnsPreviousValue() {
+        LongLongHashMap map = new LongLongHashMap(4, MISSING);
+        map.put(7L, 70L);
+
+        assertEquals(70L, map.remove(7L));
+        assertEquals(MISSING, map.remove(7L));
+        assertEquals(MISSING, map.get(7L));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void growsPastExpectedSize() {
+        LongLongHashMap map = new LongLongHashMap(1, MISSING);
+        for (long key = 1; key <= 10_000; key++) {
+            map.put(key, key * 3);
+        }
+
+        assertEquals(10_000, map.size());
+        for (long key = 1; key <= 10_000; key++) {
+            assertEquals(key * 3, map.get(key));
+        }
+    }
+
+    @Test
+    void removeKeepsProbeChainsReachable() {
+        // 적재율이 높은 상태에서 삽입/삭제를 섞어도 남은 키를 모두 찾을 수 있어야 한다
+        LongLongHashMap map = new LongLongHashMap(16, MISSING);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 50_000; i++) {
+            long key = 1 + random.nextInt(2_000);
+            if (random.nextBoolean()) {
+                long value = random.nextLong();
+                Long previous = expected.put(key, value);
+                assertEquals(previous != null ? previous : MISSING, map.put(key, value));
+            } else {
+                Long previous = expected.remove(key);
+                assertEquals(previous != null ? previous : MISSING, map.remove(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = 1; key <= 2_000; key++) {
+            assertEquals((long) expected.getOrDefault(key, MISSING), map.get(key));
+        }
+    }
+
+    @Test
+    void negativeKeysAreSupported() {
+        LongLongHashMap map = new LongLongHashMap(4, MISSING);
+        map.put(-1L, 1L);
+        map.put(Long.MAX_VALUE, 2L);
+
+        assertEquals(1L, map.get(-1L));
+        assertEquals(2L, map.get(Long.MAX_VALUE));
+    }
+
+    @Test
+    void clearRemovesAllEntries() {
+        LongLongHashMap map = new LongLongHashMap(4, MISSING);
+        map.put(1L, 10L);
+        map.put(2L, 20L);
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertEquals(MISSING, map.get(1L));
+    }
+
+    @Test
+    void rejectsZeroKey() {
+        LongLongHashMap map = new LongLongHashMap(4, MISSING);
+
+        assertThrows(IllegalArgumentException.class, () -> map.put(0L, 1L));
+        assertThrows(IllegalArgumentException.class, () -> map.get(0L));
+        assertThrows(IllegalArgumentException.class, () -> map.remove(0L));
+    }
+}